@@ -0,0 +1,186 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.Constructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Base class of the goals that read the database schema: configuration loading and introspector selection.
+ */
+@SuppressWarnings("unused")
+public abstract class AbstractSchemaMojo extends AbstractMojo {
+    private static final Logger log = LoggerFactory.getLogger(AbstractSchemaMojo.class);
+
+    protected static final String JDBC_URL = "jdbc.url";
+    protected static final String JDBC_USER = "jdbc.user";
+    protected static final String JDBC_PASS = "jdbc.pass";
+    protected static final String JDBC_SCHEMA = "jdbc.schema";
+
+    /**
+     * Path to the .env file containing database connection properties.
+     */
+    @Parameter(defaultValue = "${project.basedir}/.env")
+    protected Path envPath;
+
+    /**
+     * Path to the YAML file containing custom table and column mappings.
+     */
+    @Parameter
+    protected Path mappingsPath;
+
+    /**
+     * Whether to read columns and primary keys of the whole schema in a single pass
+     * instead of issuing two metadata queries per table.
+     */
+    @Parameter(defaultValue = "false")
+    protected boolean bulkIntrospection;
+
+    /**
+     * Whether to also read the indexes and foreign keys of each table (two more metadata queries per table),
+     * made available to the templates and used to generate index-backed finders.
+     */
+    @Parameter(defaultValue = "false")
+    protected boolean readIndexes;
+
+    /**
+     * Schema introspector: {@code jdbc} (generic JDBC metadata, the default), {@code auto} (the native catalog queries
+     * matching the JDBC URL, falling back to the JDBC metadata), {@code postgresql}, {@code oracle} (12c or later),
+     * {@code sqlserver} or the name of a {@link SchemaIntrospector} registered as a service provider in the plugin dependencies.
+     */
+    @Parameter(defaultValue = "jdbc")
+    protected String introspector;
+
+    /**
+     * Schemas to process in a single execution, each with its own package and optional mappings.
+     * When not set, the schema is read from the {@code jdbc.schema} property of the .env file.
+     */
+    @Parameter
+    protected List<SchemaConfig> schemas;
+
+    /**
+     * Default constructor
+     */
+    protected AbstractSchemaMojo() {
+    }
+
+    /**
+     * Returns the configured schemas, or the default schema when none is configured.
+     * @param defaultSchema Schema used when the {@code schemas} parameter is not set
+     * @return Schema configurations
+     * @throws MojoExecutionException If a configured schema has no name.
+     */
+    protected List<SchemaConfig> resolveSchemas(String defaultSchema) throws MojoExecutionException {
+        if (schemas == null || schemas.isEmpty()) return List.of(new SchemaConfig(defaultSchema));
+        for (SchemaConfig schema : schemas) {
+            if (schema.getName() == null || schema.getName().isBlank()) throw new MojoExecutionException("Missing name of a configured schema");
+        }
+        return schemas;
+    }
+
+    /**
+     * Returns the mappings of a schema, loading each mappings file only once.
+     * @param schema Schema configuration
+     * @param defaults Mappings used when the schema has no mappings file
+     * @param cache Mappings already loaded, by path
+     * @return Generator mappings of the schema
+     * @throws MojoExecutionException If the mappings file doesn't exist or parsing fails.
+     */
+    protected GeneratorMappings schemaMappings(SchemaConfig schema, GeneratorMappings defaults, Map<Path, GeneratorMappings> cache) throws MojoExecutionException {
+        Path path = schema.getMappingsPath();
+        if (path == null) return defaults;
+        GeneratorMappings mappings = cache.get(path);
+        if (mappings == null) {
+            mappings = loadMappings(path);
+            cache.put(path, mappings);
+        }
+        return mappings;
+    }
+
+    /**
+     * Returns the schema introspector selected by the {@code introspector} parameter: a built-in one
+     * ({@code jdbc}, {@code postgresql}, {@code oracle}, {@code sqlserver}), one registered as a service provider,
+     * or with {@code auto} the dialect introspector matching the JDBC URL, falling back to the generic JDBC metadata.
+     * @param jdbcUrl JDBC connection URL
+     * @return Schema introspector
+     * @throws MojoExecutionException If no introspector has the configured name.
+     */
+    protected SchemaIntrospector resolveIntrospector(String jdbcUrl) throws MojoExecutionException {
+        List<SchemaIntrospector> available = new ArrayList<>(List.of(new PostgresIntrospector(), new OracleIntrospector(), new SqlServerIntrospector()));
+        for (SchemaIntrospector provided : ServiceLoader.load(SchemaIntrospector.class, getClass().getClassLoader())) available.add(provided);
+        SchemaIntrospector fallback = new JdbcMetadataIntrospector();
+
+        SchemaIntrospector selected;
+        if (introspector == null || introspector.equalsIgnoreCase("auto")) {
+            selected = available.stream().filter(i -> i.supports(jdbcUrl)).findFirst().orElse(fallback);
+        }
+        else if (introspector.equalsIgnoreCase(fallback.getName())) selected = fallback;
+        else {
+            selected = available.stream().filter(i -> i.getName().equalsIgnoreCase(introspector)).findFirst()
+                    .orElseThrow(() -> new MojoExecutionException("Unknown schema introspector: " + introspector));
+        }
+        log.info("Using schema introspector: {}", selected.getName());
+        return selected;
+    }
+
+    /**
+     * Opens a new database connection.
+     * @param dbEnv Database configuration properties
+     * @return Open connection
+     * @throws SQLException If the connection cannot be established.
+     */
+    protected Connection openConnection(Properties dbEnv) throws SQLException {
+        return DriverManager.getConnection(dbEnv.getProperty(JDBC_URL), dbEnv.getProperty(JDBC_USER), dbEnv.getProperty(JDBC_PASS));
+    }
+
+    /**
+     * Loads the generator mappings from a YAML file.
+     * @param path Path to the mappings file.
+     * @return GeneratorMappings instance.
+     * @throws MojoExecutionException If the file doesn't exist or parsing fails.
+     */
+    protected GeneratorMappings loadMappings(Path path) throws MojoExecutionException {
+        if (path == null) {
+            log.info("No mappings file specified. Falling back to default values.");
+            return new GeneratorMappings();
+        }
+        else {
+            if (!Files.exists(path)) throw new MojoExecutionException("Mappings path not exists: " + path);
+            log.info("Using mappings file: {}", path);
+            try (InputStream is = Files.newInputStream(path)) {
+                Yaml yaml = new Yaml(new Constructor(GeneratorMappings.class, new LoaderOptions()));
+                return yaml.load(is);
+            } catch (Exception e) {
+                throw new MojoExecutionException("Failed while parsing mappings file: ", e);
+            }
+        }
+    }
+
+    /**
+     * Loads database configuration properties from a file.
+     * @param path Path to the .env or properties file.
+     * @return Loaded Properties.
+     * @throws MojoExecutionException If the file cannot be read.
+     */
+    protected Properties loadEnv(Path path) throws MojoExecutionException {
+        Properties props = new Properties();
+        try (InputStream is = Files.newInputStream(path)) {
+            props.load(is);
+            return props;
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to load DB properties file: " + path, e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Base class of the dialect introspectors reading columns and primary keys with a single query on the database catalog,
+ * instead of the generic {@link DatabaseMetaData} calls that many drivers implement with slow, pattern based queries.
+ * Table names are still read with {@link DatabaseMetaData#getTables}.
+ * <p>
+ * The catalog query must return, ordered by table and column position, the columns:
+ * {@code TABLE_NAME, COLUMN_NAME, TYPE_NAME, COLUMN_SIZE, DECIMAL_DIGITS, NULLABLE, IS_PK, IS_AUTOINCREMENT, SEQUENCE_NAME, GENERATED_ALWAYS}
+ * (the SQL name of the sequence generating the column values, null if none, and whether the column rejects explicit values);
+ * the JDBC type code is
+ * computed by {@link #dataType(ResultSet)} the same way the vendor driver does, so that the generated records don't change.
+ * Dialects supporting enum types also return their values, read by {@link #enumValues(ResultSet)}.
+ */
+public abstract class CatalogQueryIntrospector extends JdbcMetadataIntrospector {
+
+    /**
+     * Default constructor
+     */
+    protected CatalogQueryIntrospector() {
+    }
+
+    /**
+     * Returns the catalog query. The first parameter is the schema, the second one the table name when {@code singleTable} is true.
+     * @param singleTable Whether the query must be restricted to a single table
+     * @return Catalog query
+     */
+    protected abstract String columnsQuery(boolean singleTable);
+
+    /**
+     * Returns the JDBC type code of the column at the current row of the catalog query.
+     * @param rs Result set positioned on a column row
+     * @return JDBC type code
+     * @throws SQLException If database access fails.
+     */
+    protected abstract int dataType(ResultSet rs) throws SQLException;
+
+    /**
+     * Returns the values of the enum type of the column at the current row of the catalog query.
+     * @param rs Result set positioned on a column row
+     * @return Enum values in declaration order, empty if the column is not of an enum type
+     * @throws SQLException If database access fails.
+     */
+    protected List<String> enumValues(ResultSet rs) throws SQLException {
+        return List.of();
+    }
+
+    @Override
+    public TableInfo readTable(Connection conn, String schema, String tableName) throws SQLException {
+        return readColumns(conn, schema, tableName, List.of(tableName)).get(tableName);
+    }
+
+    @Override
+    public Map<String, TableInfo> readSchema(Connection conn, String schema, List<String> tableNames) throws SQLException {
+        return readColumns(conn, schema, null, tableNames);
+    }
+
+    /**
+     * Runs the catalog query, grouping the rows by table.
+     * @param conn Database connection
+     * @param schema Database schema
+     * @param tableName Table name, null to read the whole schema
+     * @param tableNames Names of the tables to return
+     * @return Table metadata by table name
+     * @throws SQLException If database access fails.
+     */
+    private Map<String, TableInfo> readColumns(Connection conn, String schema, String tableName, List<String> tableNames) throws SQLException {
+        Map<String, List<ColumnInfo>> columns = new HashMap<>();
+        Map<String, Set<String>> pkNames = new HashMap<>();
+        for (String name : tableNames) {
+            columns.put(name, new ArrayList<>());
+            pkNames.put(name, new HashSet<>());
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(columnsQuery(tableName != null))) {
+            ps.setString(1, schema);
+            if (tableName != null) ps.setString(2, tableName);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString("TABLE_NAME");
+                    List<ColumnInfo> tableColumns = columns.get(name);
+                    if (tableColumns == null) continue;
+                    ColumnInfo column = readColumn(rs);
+                    tableColumns.add(column);
+                    if (rs.getBoolean("IS_PK")) pkNames.get(name).add(column.name().toLowerCase());
+                }
+            }
+        }
+
+        Map<String, TableInfo> tables = new HashMap<>();
+        for (String name : tableNames) tables.put(name, new TableInfo(schema, name, columns.get(name), pkNames.get(name)));
+        return tables;
+    }
+
+    @Override
+    protected ColumnInfo readColumn(ResultSet rs) throws SQLException {
+        return new ColumnInfo(rs.getString("COLUMN_NAME"), dataType(rs), rs.getString("TYPE_NAME"),
+                rs.getInt("COLUMN_SIZE"), rs.getInt("DECIMAL_DIGITS"), rs.getBoolean("NULLABLE"), enumValues(rs),
+                rs.getBoolean("IS_AUTOINCREMENT"), rs.getString("SEQUENCE_NAME"), rs.getBoolean("GENERATED_ALWAYS"));
+    }
+}
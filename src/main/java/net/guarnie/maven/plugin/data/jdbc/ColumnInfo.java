@@ -0,0 +1,41 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.util.List;
+
+/**
+ * Column metadata read from the database during schema introspection.
+ * @param name Column name
+ * @param dataType JDBC type code (see {@link java.sql.Types})
+ * @param typeName Database specific type name
+ * @param precision Column size or numeric precision
+ * @param scale Numeric scale (decimal digits)
+ * @param nullable Whether the column accepts null values (true when unknown)
+ * @param enumValues Values of the database enum type of the column, in declaration order (empty if not an enum)
+ * @param autoIncrement Whether the value is generated by the database (identity, auto-increment or sequence default)
+ * @param sequence SQL name of the sequence generating the value (null if none or unknown)
+ * @param generatedAlways Whether the value is always generated by the database, rejecting the values given on insert
+ */
+public record ColumnInfo(String name, int dataType, String typeName, int precision, int scale, boolean nullable, List<String> enumValues,
+                         boolean autoIncrement, String sequence, boolean generatedAlways) {
+
+    /**
+     * Creates the metadata of a column not of an enum type.
+     * @param name Column name
+     * @param dataType JDBC type code (see {@link java.sql.Types})
+     * @param typeName Database specific type name
+     * @param precision Column size or numeric precision
+     * @param scale Numeric scale (decimal digits)
+     * @param nullable Whether the column accepts null values (true when unknown)
+     */
+    public ColumnInfo(String name, int dataType, String typeName, int precision, int scale, boolean nullable) {
+        this(name, dataType, typeName, precision, scale, nullable, List.of(), false, null, false);
+    }
+
+    /**
+     * Checks whether the column is of a database enum type.
+     * @return true if the enum values are known
+     */
+    public boolean isEnum() {
+        return !enumValues.isEmpty();
+    }
+}
@@ -0,0 +1,126 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Small set of database connections lent to the worker threads one at a time,
+ * because many drivers do not allow concurrent use of a single {@link DatabaseMetaData}.
+ * Connections are opened on demand, up to the configured maximum.
+ */
+public class ConnectionSet implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ConnectionSet.class);
+
+    /**
+     * Opens a new connection.
+     */
+    @FunctionalInterface
+    public interface Factory {
+        /**
+         * Opens a new connection.
+         * @return Open connection
+         * @throws SQLException If the connection cannot be established.
+         */
+        Connection open() throws SQLException;
+    }
+
+    /**
+     * Work done with a borrowed connection.
+     * @param <T> Result type
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        /**
+         * Runs the work.
+         * @param conn Borrowed connection, to be used by the current thread only
+         * @return Result
+         * @throws Exception If the work fails.
+         */
+        T run(Connection conn) throws Exception;
+    }
+
+    /**
+     * Connection factory.
+     */
+    private final Factory factory;
+
+    /**
+     * Maximum number of connections.
+     */
+    private final int max;
+
+    /**
+     * Connections opened so far.
+     */
+    private final List<Connection> opened = new ArrayList<>();
+
+    /**
+     * Connections not currently borrowed.
+     */
+    private final BlockingQueue<Connection> idle = new LinkedBlockingQueue<>();
+
+    /**
+     * Creates an empty set.
+     * @param max Maximum number of connections (at least one)
+     * @param factory Connection factory
+     */
+    public ConnectionSet(int max, Factory factory) {
+        this.max = Math.max(1, max);
+        this.factory = factory;
+    }
+
+    /**
+     * Runs the work with a connection of the set, waiting for one to be free when all of them are in use.
+     * @param work Work to run
+     * @param <T> Result type
+     * @return Result of the work
+     * @throws Exception If a connection cannot be opened or the work fails.
+     */
+    public <T> T with(Work<T> work) throws Exception {
+        Connection conn = borrow();
+        try {
+            return work.run(conn);
+        } finally {
+            idle.add(conn);
+        }
+    }
+
+    /**
+     * Takes an idle connection, opening a new one when none is idle and the maximum is not reached.
+     * @return Borrowed connection
+     * @throws SQLException If a connection cannot be opened.
+     * @throws InterruptedException If interrupted while waiting for a connection.
+     */
+    private Connection borrow() throws SQLException, InterruptedException {
+        Connection conn = idle.poll();
+        if (conn != null) return conn;
+
+        synchronized (opened) {
+            if (opened.size() < max) {
+                conn = factory.open();
+                opened.add(conn);
+                return conn;
+            }
+        }
+        return idle.take();
+    }
+
+    @Override
+    public void close() {
+        synchronized (opened) {
+            for (Connection conn : opened) {
+                try { conn.close(); }
+                catch (SQLException e) { log.warn("Failed to close connection", e); }
+            }
+            opened.clear();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 based builder used to compute fingerprints of schema metadata and generator settings.
+ */
+public final class Fingerprint {
+    /**
+     * Underlying message digest.
+     */
+    private final MessageDigest digest;
+
+    /**
+     * Creates an empty fingerprint.
+     */
+    public Fingerprint() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Adds a string value, null values are distinguished from empty ones.
+     * @param value Value to add
+     * @return This fingerprint
+     */
+    public Fingerprint add(String value) {
+        if (value == null) digest.update((byte) 0);
+        else {
+            digest.update((byte) 1);
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return this;
+    }
+
+    /**
+     * Adds an integer value.
+     * @param value Value to add
+     * @return This fingerprint
+     */
+    public Fingerprint add(int value) {
+        return add(Integer.toString(value));
+    }
+
+    /**
+     * Adds a boolean value.
+     * @param value Value to add
+     * @return This fingerprint
+     */
+    public Fingerprint add(boolean value) {
+        return add(Boolean.toString(value));
+    }
+
+    /**
+     * Completes the computation. The fingerprint must not be used afterwards.
+     * @return Hex encoded hash
+     */
+    public String toHex() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,87 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent store of the per-table fingerprints computed by the last generation,
+ * used to skip rendering and writing of the tables that have not changed.
+ * <p>
+ * The file contains one {@code <fingerprint> <table key>} entry per line.
+ */
+public class FingerprintStore {
+    /**
+     * Path of the fingerprints file.
+     */
+    private final Path path;
+
+    /**
+     * Fingerprints loaded from the previous generation.
+     */
+    private final Map<String, String> previous;
+
+    /**
+     * Fingerprints of the tables processed by the current generation.
+     */
+    private final Map<String, String> current = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a store with the given previous fingerprints.
+     * @param path Path of the fingerprints file
+     * @param previous Fingerprints of the previous generation
+     */
+    private FingerprintStore(Path path, Map<String, String> previous) {
+        this.path = path;
+        this.previous = previous;
+    }
+
+    /**
+     * Loads the fingerprints file, if present.
+     * @param path Path of the fingerprints file
+     * @return Store initialized with the previous fingerprints (empty if the file doesn't exist)
+     * @throws IOException If the file cannot be read.
+     */
+    public static FingerprintStore load(Path path) throws IOException {
+        Map<String, String> previous = new HashMap<>();
+        if (Files.exists(path)) {
+            for (String line : Files.readAllLines(path)) {
+                int sep = line.indexOf(' ');
+                if (sep > 0) previous.put(line.substring(sep + 1), line.substring(0, sep));
+            }
+        }
+        return new FingerprintStore(path, previous);
+    }
+
+    /**
+     * Checks whether the fingerprint is the same one computed by the previous generation.
+     * @param key Table key
+     * @param fingerprint Current fingerprint
+     * @return true if the table has not changed
+     */
+    public boolean isUnchanged(String key, String fingerprint) {
+        return fingerprint.equals(previous.get(key));
+    }
+
+    /**
+     * Records the fingerprint of a table processed by the current generation.
+     * @param key Table key
+     * @param fingerprint Current fingerprint
+     */
+    public void put(String key, String fingerprint) {
+        current.put(key, fingerprint);
+    }
+
+    /**
+     * Writes the fingerprints of the current generation, replacing the previous ones.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save() throws IOException {
+        List<String> lines = new ArrayList<>(current.size());
+        for (Map.Entry<String, String> e : new TreeMap<>(current).entrySet()) lines.add(e.getValue() + " " + e.getKey());
+        Files.createDirectories(path.getParent());
+        Files.write(path, lines);
+    }
+}
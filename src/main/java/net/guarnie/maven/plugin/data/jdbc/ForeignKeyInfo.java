@@ -0,0 +1,14 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.util.List;
+
+/**
+ * Foreign key metadata read from the database during schema introspection.
+ * @param name Foreign key name (may be null)
+ * @param columns Referencing column names, in key order
+ * @param referencedSchema Schema of the referenced table (may be null)
+ * @param referencedTable Name of the referenced table
+ * @param referencedColumns Referenced column names, in key order
+ */
+public record ForeignKeyInfo(String name, List<String> columns, String referencedSchema, String referencedTable, List<String> referencedColumns) {
+}
@@ -0,0 +1,265 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings and counters collected during a generation run, safe for concurrent updates by the worker threads.
+ * Phase timings are cumulative: with parallel generation they can exceed the total elapsed time.
+ */
+public class GenerationMetrics {
+    /**
+     * Generation phases.
+     */
+    public enum Phase {
+        /** Opening database connections */
+        CONNECTION,
+        /** Reading the table names */
+        TABLES,
+        /** Reading the table metadata (columns and keys) */
+        METADATA,
+        /** Rendering the templates */
+        RENDERING,
+        /** Writing the generated files */
+        WRITING
+    }
+
+    /**
+     * Generation counters.
+     */
+    public enum Counter {
+        /** Tables rendered */
+        TABLES_GENERATED,
+        /** Tables skipped because their fingerprint has not changed */
+        TABLES_UNCHANGED,
+        /** Tables whose generation failed */
+        TABLES_FAILED,
+        /** Columns of the tables rendered, including those whose rendering or writing failed afterwards */
+        COLUMNS,
+        /** Columns of the tables skipped because their fingerprint has not changed */
+        COLUMNS_UNCHANGED,
+        /** Files written */
+        FILES_WRITTEN,
+        /** Rendered files whose content was already up to date */
+        FILES_UNCHANGED,
+        /** Stale files deleted */
+        FILES_DELETED,
+        /** Bytes written */
+        BYTES_WRITTEN
+    }
+
+    /**
+     * Start time of the run, for elapsed time computation.
+     */
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Start instant of the run.
+     */
+    private final Instant startedAt = Instant.now();
+
+    /**
+     * Cumulative nanoseconds per phase.
+     */
+    private final Map<Phase, LongAdder> phases = new EnumMap<>(Phase.class);
+
+    /**
+     * Counters values.
+     */
+    private final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+
+    /**
+     * Total nanoseconds per table.
+     */
+    private final Map<String, Long> tableNanos = new ConcurrentHashMap<>();
+
+    /**
+     * Metadata latency nanoseconds per table (only with per-table introspection).
+     */
+    private final Map<String, Long> metadataNanos = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor
+     */
+    public GenerationMetrics() {
+        for (Phase p : Phase.values()) phases.put(p, new LongAdder());
+        for (Counter c : Counter.values()) counters.put(c, new LongAdder());
+    }
+
+    /**
+     * Adds time to a phase.
+     * @param phase Phase
+     * @param nanos Elapsed nanoseconds
+     */
+    public void addTime(Phase phase, long nanos) {
+        phases.get(phase).add(nanos);
+    }
+
+    /**
+     * Increments a counter.
+     * @param counter Counter
+     * @param amount Amount to add
+     */
+    public void add(Counter counter, long amount) {
+        counters.get(counter).add(amount);
+    }
+
+    /**
+     * Adds processing time to a table, summing the time spent in each generation stage.
+     * @param tableName Table name
+     * @param nanos Elapsed nanoseconds
+     */
+    public void addTableTime(String tableName, long nanos) {
+        tableNanos.merge(tableName, nanos, Long::sum);
+    }
+
+    /**
+     * Records the metadata latency of a table, also adding it to the metadata phase.
+     * @param tableName Table name
+     * @param nanos Elapsed nanoseconds
+     */
+    public void metadataTime(String tableName, long nanos) {
+        metadataNanos.put(tableName, nanos);
+        addTime(Phase.METADATA, nanos);
+    }
+
+    /**
+     * Logs a summary of the run with the slowest tables.
+     * @param log Logger
+     * @param slowest Number of slowest tables to list
+     */
+    public void logSummary(Logger log, int slowest) {
+        log.info("Generation finished in {} ms: {} generated, {} unchanged, {} failed table(s), {} column(s) rendered, {} unchanged",
+                millis(System.nanoTime() - startNanos), count(Counter.TABLES_GENERATED), count(Counter.TABLES_UNCHANGED),
+                count(Counter.TABLES_FAILED), count(Counter.COLUMNS), count(Counter.COLUMNS_UNCHANGED));
+        log.info("Files: {} written ({} bytes), {} unchanged, {} deleted", count(Counter.FILES_WRITTEN),
+                count(Counter.BYTES_WRITTEN), count(Counter.FILES_UNCHANGED), count(Counter.FILES_DELETED));
+
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Phase p : Phase.values()) joiner.add(p.name().toLowerCase() + " " + millis(phases.get(p).sum()) + " ms");
+        log.info("Phases: {}", joiner);
+
+        List<Map.Entry<String, Long>> tables = slowestTables(slowest);
+        if (!tables.isEmpty()) {
+            log.info("Slowest tables:");
+            for (Map.Entry<String, Long> e : tables) {
+                Long meta = metadataNanos.get(e.getKey());
+                if (meta == null) log.info("  {}: {} ms", e.getKey(), millis(e.getValue()));
+                else log.info("  {}: {} ms (metadata {} ms)", e.getKey(), millis(e.getValue()), millis(meta));
+            }
+        }
+    }
+
+    /**
+     * Writes the metrics as a JSON document.
+     * @param path Report file
+     * @param slowest Number of slowest tables to list
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeJson(Path path, int slowest) throws IOException {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("{\n");
+        sb.append("  \"startedAt\": \"").append(startedAt).append("\",\n");
+        sb.append("  \"totalMillis\": ").append(millis(System.nanoTime() - startNanos)).append(",\n");
+
+        sb.append("  \"phasesMillis\": {");
+        String sep = "\n";
+        for (Phase p : Phase.values()) {
+            sb.append(sep).append("    \"").append(camelCase(p.name())).append("\": ").append(millis(phases.get(p).sum()));
+            sep = ",\n";
+        }
+        sb.append("\n  },\n");
+
+        sb.append("  \"counters\": {");
+        sep = "\n";
+        for (Counter c : Counter.values()) {
+            sb.append(sep).append("    \"").append(camelCase(c.name())).append("\": ").append(count(c));
+            sep = ",\n";
+        }
+        sb.append("\n  },\n");
+
+        sb.append("  \"slowestTables\": [");
+        sep = "\n";
+        for (Map.Entry<String, Long> e : slowestTables(slowest)) {
+            sb.append(sep).append("    {\"table\": \"").append(escape(e.getKey())).append("\", \"millis\": ").append(millis(e.getValue()));
+            Long meta = metadataNanos.get(e.getKey());
+            if (meta != null) sb.append(", \"metadataMillis\": ").append(millis(meta));
+            sb.append('}');
+            sep = ",\n";
+        }
+        sb.append(tableNanos.isEmpty()? "]\n" : "\n  ]\n");
+        sb.append("}\n");
+
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        Files.writeString(path, sb);
+    }
+
+    /**
+     * Returns the value of a counter.
+     * @param counter Counter
+     * @return Counter value
+     */
+    public long count(Counter counter) {
+        return counters.get(counter).sum();
+    }
+
+    /**
+     * Returns the slowest tables, slowest first.
+     * @param limit Maximum number of tables
+     * @return Table names and total nanoseconds
+     */
+    private List<Map.Entry<String, Long>> slowestTables(int limit) {
+        List<Map.Entry<String, Long>> tables = new ArrayList<>(tableNanos.entrySet());
+        tables.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        return tables.subList(0, Math.min(Math.max(limit, 0), tables.size()));
+    }
+
+    /**
+     * Converts nanoseconds to milliseconds.
+     * @param nanos Nanoseconds
+     * @return Milliseconds
+     */
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * Converts an enum constant name to camelCase.
+     * @param s Constant name (UPPER_SNAKE_CASE)
+     * @return camelCase name
+     */
+    private static String camelCase(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        boolean nextUpper = false;
+        for (char c : s.toCharArray()) {
+            if (c == '_') nextUpper = true;
+            else {
+                sb.append(nextUpper? c : Character.toLowerCase(c));
+                nextUpper = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Escapes a string for a JSON literal.
+     * @param s String to escape
+     * @return Escaped string
+     */
+    private static String escape(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (char c : s.toCharArray()) {
+            if (c == '"' || c == '\\') sb.append('\\').append(c);
+            else if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+            else sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -5,6 +5,8 @@ package net.guarnie.maven.plugin.data.jdbc;
 
 import org.apache.commons.lang3.tuple.Pair;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 
@@ -24,12 +26,34 @@ public class GeneratorMappings {
      */
     private MappingsConfig mappings ;
 
+    /**
+     * Projections: narrow records selecting a subset of the columns of a table.
+     */
+    private List<ProjectionConfig> projections;
+
+    /**
+     * Rename rules applied to the table and column names without a custom mapping.
+     */
+    private RulesConfig rules;
+
+    /**
+     * PascalCase names already computed, shared by all the tables.
+     */
+    private final Map<String, String> pascalCaseNames = new ConcurrentHashMap<>();
+
+    /**
+     * camelCase names already computed, shared by all the tables.
+     */
+    private final Map<String, String> camelCaseNames = new ConcurrentHashMap<>();
+
     /**
      * Default constructor initializing filter and mappings configurations.
      */
     public GeneratorMappings() {
         this.filters = new FiltersConfig();
         this.mappings = new MappingsConfig();
+        this.projections = new ArrayList<>();
+        this.rules = new RulesConfig();
     }
 
     /**
@@ -56,6 +80,41 @@ public class GeneratorMappings {
      */
     public void setMappings(MappingsConfig mappings) { this.mappings = mappings; }
 
+    /**
+     * Gets the projections.
+     * @return List of ProjectionConfig
+     */
+    public List<ProjectionConfig> getProjections() { return projections; }
+
+    /**
+     * Sets the projections.
+     * @param projections List of ProjectionConfig
+     */
+    public void setProjections(List<ProjectionConfig> projections) { this.projections = (projections == null)? new ArrayList<>() : projections; }
+
+    /**
+     * Gets the rename rules.
+     * @return RulesConfig
+     */
+    public RulesConfig getRules() { return rules; }
+
+    /**
+     * Sets the rename rules.
+     * @param rules RulesConfig instance
+     */
+    public void setRules(RulesConfig rules) { this.rules = (rules == null)? new RulesConfig() : rules; }
+
+    /**
+     * Returns the projections of a table.
+     * @param tableName Table name
+     * @return Projections declared for the table (empty if none)
+     */
+    public List<ProjectionConfig> getProjectionsForTable(String tableName) {
+        List<ProjectionConfig> result = new ArrayList<>();
+        for (ProjectionConfig projection : projections) if (tableName.equalsIgnoreCase(projection.getTable())) result.add(projection);
+        return result;
+    }
+
 
     /**
      * Controls whether the record for the parameter should be generated
@@ -63,28 +122,59 @@ public class GeneratorMappings {
      * @return True Whether the record for the table name should be generated
      */
     public boolean shouldProcessTable(String tableName) {
-        return filters.isIncluded(tableName) && !filters.isExcluded(tableName);
+        return filters.accepts(tableName);
     }
 
     /**
-     * Returns the generated name of the table (pascal case) or the custom name coming from the mappings.yml file
+     * Returns the custom name coming from the mappings.yml file, or the generated name of the table
+     * (pascal case, after the table rename rules)
      * @param tableName Table name
-     * @return The generated name of the table (pascal case) or the custom name
+     * @return The custom name or the generated name of the table
      */
     public String getMappedTableName(String tableName) {
-        return mappings.getTables().getOrDefault(tableName, toPascalCase(tableName));
+        String name = mappings.getTableMapping(tableName);
+        return (name != null)? name : toPascalCase(rules.renameTable(tableName));
+    }
+
+    /**
+     * Returns the name of the Java enum generated for a database enum type (pascal case)
+     * @param typeName Database type name
+     * @return The generated name of the enum
+     */
+    public String getMappedTypeName(String typeName) {
+        return toPascalCase(typeName);
     }
 
     /**
-     * The generated name of the column (camel case) or the custom name
+     * The custom name or the generated name of the column (camel case, after the column rename rules).
+     * The name is flagged as custom when it cannot be derived back to the column name by Spring Data JDBC.
      * @param tableName Table name
      * @param columnName Column name
-     * @return The generated name of the column (camel case) or the custom name
+     * @return The custom name or the generated name of the column, with the custom flag
      */
     public Pair<String, Boolean> getMappedColumnName(String tableName, String columnName) {
-        String name = mappings.getColumnsForTable(tableName).get(columnName);
-        boolean custom = name != null;
-        return Pair.of(custom? name : toCamelCase(columnName), custom);
+        String name = mappings.getColumnMapping(tableName, columnName);
+        if (name != null) return Pair.of(name, true);
+        String renamed = rules.renameColumn(columnName);
+        return Pair.of(toCamelCase(renamed), !renamed.equals(columnName));
+    }
+
+    /**
+     * Returns the strategy of a large object column: the one configured for the column, or the default one.
+     * @param tableName Table name
+     * @param columnName Column name
+     * @param defaultStrategy Strategy used when the column has no custom strategy
+     * @return LOB strategy of the column
+     * @throws IllegalArgumentException If the configured strategy is unknown.
+     */
+    public LobStrategy getLobStrategy(String tableName, String columnName, LobStrategy defaultStrategy) {
+        String name = mappings.getLobMapping(tableName, columnName);
+        if (name == null) return defaultStrategy;
+        try {
+            return LobStrategy.of(name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown LOB strategy for " + tableName + "." + columnName + ": " + name, e);
+        }
     }
 
     /**
@@ -92,7 +182,7 @@ public class GeneratorMappings {
      * @param s String to transform
      * @return StringBuilder with the PascalCase representation
      */
-    private StringBuilder transformCase(String s) {
+    StringBuilder transformCase(String s) {
         if (s == null || s.isEmpty()) return new StringBuilder();
         int len = s.length();
         StringBuilder result = new StringBuilder(len);
@@ -110,27 +200,31 @@ public class GeneratorMappings {
     }
 
     /**
-     * Transforms the string to PascalCase
+     * Transforms the string to PascalCase, computing it once per name
      * @param s String to transform
      * @return String in PascalCase
      */
     private String toPascalCase(String s) {
-        return transformCase(s).toString();
+        return pascalCaseNames.computeIfAbsent(s, k -> transformCase(k).toString());
     }
 
     /**
-     * Transforms the string to camelCase
+     * Transforms the string to camelCase, computing it once per name
      * @param s String to transform
      * @return String in camelCase
      */
     private String toCamelCase(String s) {
-        StringBuilder sb = transformCase(s);
-        if (!sb.isEmpty()) sb.setCharAt(0, Character.toLowerCase(sb.charAt(0)));
-        return sb.toString();
+        return camelCaseNames.computeIfAbsent(s, k -> {
+            StringBuilder sb = transformCase(k);
+            if (!sb.isEmpty()) sb.setCharAt(0, Character.toLowerCase(sb.charAt(0)));
+            return sb.toString();
+        });
     }
 
+
     /**
-     * Internal class that represents the associations between real names in the database and custom names
+     * Internal class that represents the associations between real names in the database and custom names.
+     * Names are looked up exactly first, then ignoring case.
      */
     public static class MappingsConfig {
         /**
@@ -141,13 +235,30 @@ public class GeneratorMappings {
          * Custom column name mappings: table_name -> (real_column_name -> custom_column_name).
          */
         private Map<String, Map<String, String>> columns;
+        /**
+         * Custom large object strategies: table_name -> (real_column_name -> strategy).
+         */
+        private Map<String, Map<String, String>> lobs;
+        /**
+         * Table mappings by lower-cased real name.
+         */
+        private Map<String, String> tablesIgnoreCase;
+        /**
+         * Column mappings by lower-cased table name and lower-cased real column name.
+         */
+        private Map<String, Map<String, String>> columnsIgnoreCase;
+        /**
+         * Large object strategies by lower-cased table name and lower-cased real column name.
+         */
+        private Map<String, Map<String, String>> lobsIgnoreCase;
 
         /**
          * Default constructor
          */
         public MappingsConfig() {
-            this.tables = new HashMap<>();
-            this.columns =  new HashMap<>();
+            setTables(null);
+            setColumns(null);
+            setLobs(null);
         }
 
         /**
@@ -160,7 +271,10 @@ public class GeneratorMappings {
          * Sets the table map
          * @param t Table map
          */
-        public void setTables(Map<String, String> t) { this.tables = t; }
+        public void setTables(Map<String, String> t) {
+            this.tables = (t == null)? new HashMap<>() : t;
+            this.tablesIgnoreCase = lowerCaseKeys(tables);
+        }
 
         /**
          * Returns the map of configured columns per table
@@ -172,7 +286,10 @@ public class GeneratorMappings {
          * Sets the column map
          * @param c Column map
          */
-        public void setColumns(Map<String, Map<String, String>> c) { this.columns = c; }
+        public void setColumns(Map<String, Map<String, String>> c) {
+            this.columns = (c == null)? new HashMap<>() : c;
+            this.columnsIgnoreCase = lowerCaseKeysByTable(columns);
+        }
 
         /**
          * Returns the column mappings for a specific table
@@ -180,7 +297,417 @@ public class GeneratorMappings {
          * @return Column map for the table (empty if not present)
          */
         public Map<String, String> getColumnsForTable(String tableName) {
-            return columns.getOrDefault(tableName, Map.of());
+            Map<String, String> tableColumns = columns.get(tableName);
+            return (tableColumns != null)? tableColumns : columnsIgnoreCase.getOrDefault(tableName.toLowerCase(Locale.ROOT), Map.of());
+        }
+
+        /**
+         * Returns the custom name of a table
+         * @param tableName Table name
+         * @return Custom name, null if not present
+         */
+        public String getTableMapping(String tableName) {
+            String name = tables.get(tableName);
+            return (name != null)? name : tablesIgnoreCase.get(tableName.toLowerCase(Locale.ROOT));
+        }
+
+        /**
+         * Returns the custom name of a column
+         * @param tableName Table name
+         * @param columnName Column name
+         * @return Custom name, null if not present
+         */
+        public String getColumnMapping(String tableName, String columnName) {
+            return lookup(columns, columnsIgnoreCase, tableName, columnName);
+        }
+
+        /**
+         * Returns the large object strategy of a column
+         * @param tableName Table name
+         * @param columnName Column name
+         * @return Strategy name, null if not present
+         */
+        public String getLobMapping(String tableName, String columnName) {
+            return lookup(lobs, lobsIgnoreCase, tableName, columnName);
+        }
+
+        /**
+         * Returns the map of configured large object strategies per table
+         * @return Map (table name -> map (real column name -> strategy))
+         */
+        public Map<String, Map<String, String>> getLobs() { return lobs; }
+
+        /**
+         * Sets the large object strategies map
+         * @param l Large object strategies map
+         */
+        public void setLobs(Map<String, Map<String, String>> l) {
+            this.lobs = (l == null)? new HashMap<>() : l;
+            this.lobsIgnoreCase = lowerCaseKeysByTable(lobs);
+        }
+
+        /**
+         * Returns the large object strategies for a specific table
+         * @param tableName Table name
+         * @return Strategies by column for the table (empty if not present)
+         */
+        public Map<String, String> getLobsForTable(String tableName) {
+            Map<String, String> tableLobs = lobs.get(tableName);
+            return (tableLobs != null)? tableLobs : lobsIgnoreCase.getOrDefault(tableName.toLowerCase(Locale.ROOT), Map.of());
+        }
+
+        /**
+         * Looks up a column value exactly, then ignoring case.
+         * @param exact Values by table name and column name
+         * @param ignoreCase Values by lower-cased table name and lower-cased column name
+         * @param tableName Table name
+         * @param columnName Column name
+         * @return Value, null if not present
+         */
+        private static String lookup(Map<String, Map<String, String>> exact, Map<String, Map<String, String>> ignoreCase, String tableName, String columnName) {
+            Map<String, String> tableValues = exact.get(tableName);
+            String value = (tableValues != null)? tableValues.get(columnName) : null;
+            if (value != null) return value;
+            tableValues = ignoreCase.get(tableName.toLowerCase(Locale.ROOT));
+            return (tableValues != null)? tableValues.get(columnName.toLowerCase(Locale.ROOT)) : null;
+        }
+
+        /**
+         * Copies a map with lower-cased keys, the first entry winning on duplicates.
+         * @param map Map keyed by name
+         * @return Immutable map keyed by lower-cased name
+         */
+        private static Map<String, String> lowerCaseKeys(Map<String, String> map) {
+            Map<String, String> result = new HashMap<>();
+            map.forEach((k, v) -> { if (k != null && v != null) result.putIfAbsent(k.toLowerCase(Locale.ROOT), v); });
+            return Map.copyOf(result);
+        }
+
+        /**
+         * Copies a map of maps with lower-cased keys at both levels.
+         * @param map Map keyed by table name and column name
+         * @return Immutable map keyed by lower-cased table name and lower-cased column name
+         */
+        private static Map<String, Map<String, String>> lowerCaseKeysByTable(Map<String, Map<String, String>> map) {
+            Map<String, Map<String, String>> result = new HashMap<>();
+            map.forEach((table, values) -> {
+                if (table == null || values == null) return;
+                Map<String, String> merged = new HashMap<>(result.getOrDefault(table.toLowerCase(Locale.ROOT), Map.of()));
+                lowerCaseKeys(values).forEach(merged::putIfAbsent);
+                result.put(table.toLowerCase(Locale.ROOT), Map.copyOf(merged));
+            });
+            return Map.copyOf(result);
+        }
+    }
+
+    /**
+     * Internal class representing a projection: a record named {@code name} with the {@code columns} of {@code table}
+     */
+    public static class ProjectionConfig {
+        /**
+         * Java class name of the projection record.
+         */
+        private String name;
+        /**
+         * Real name of the projected table.
+         */
+        private String table;
+        /**
+         * Real names of the projected columns, in record component order.
+         */
+        private List<String> columns;
+
+        /**
+         * Default constructor
+         */
+        public ProjectionConfig() {
+            this.columns = new ArrayList<>();
+        }
+
+        /**
+         * Returns the class name of the projection record
+         * @return Class name
+         */
+        public String getName() { return name; }
+
+        /**
+         * Sets the class name of the projection record
+         * @param n Class name
+         */
+        public void setName(String n) { this.name = n; }
+
+        /**
+         * Returns the name of the projected table
+         * @return Table name
+         */
+        public String getTable() { return table; }
+
+        /**
+         * Sets the name of the projected table
+         * @param t Table name
+         */
+        public void setTable(String t) { this.table = t; }
+
+        /**
+         * Returns the projected columns
+         * @return Column names
+         */
+        public List<String> getColumns() { return columns; }
+
+        /**
+         * Sets the projected columns
+         * @param c Column names
+         */
+        public void setColumns(List<String> c) { this.columns = (c == null)? new ArrayList<>() : c; }
+    }
+
+    /**
+     * Internal class representing the rename rules of the table and column names without a custom mapping.
+     * The matching rules of a list are applied in order, each one to the result of the previous one,
+     * before the case transformation; the results are computed once per name.
+     */
+    public static class RulesConfig {
+        /**
+         * Table rename rules as configured.
+         */
+        private List<RuleConfig> tables;
+
+        /**
+         * Column rename rules as configured.
+         */
+        private List<RuleConfig> columns;
+
+        /**
+         * Compiled table rename rules.
+         */
+        private List<Rule> tableRules;
+
+        /**
+         * Compiled column rename rules.
+         */
+        private List<Rule> columnRules;
+
+        /**
+         * Renamed table names already computed.
+         */
+        private final Map<String, String> renamedTables = new ConcurrentHashMap<>();
+
+        /**
+         * Renamed column names already computed, shared by all the tables.
+         */
+        private final Map<String, String> renamedColumns = new ConcurrentHashMap<>();
+
+        /**
+         * Default constructor
+         */
+        public RulesConfig() {
+            setTables(null);
+            setColumns(null);
+        }
+
+        /**
+         * Returns the table rename rules
+         * @return List of RuleConfig
+         */
+        public List<RuleConfig> getTables() { return tables; }
+
+        /**
+         * Sets and compiles the table rename rules
+         * @param t List of RuleConfig
+         */
+        public void setTables(List<RuleConfig> t) {
+            this.tables = (t == null)? List.of() : List.copyOf(t);
+            this.tableRules = compile(tables);
+            renamedTables.clear();
+        }
+
+        /**
+         * Returns the column rename rules
+         * @return List of RuleConfig
+         */
+        public List<RuleConfig> getColumns() { return columns; }
+
+        /**
+         * Sets and compiles the column rename rules
+         * @param c List of RuleConfig
+         */
+        public void setColumns(List<RuleConfig> c) {
+            this.columns = (c == null)? List.of() : List.copyOf(c);
+            this.columnRules = compile(columns);
+            renamedColumns.clear();
+        }
+
+        /**
+         * Applies the table rename rules.
+         * @param tableName Table name
+         * @return Renamed table name, the same name if no rule matches
+         */
+        public String renameTable(String tableName) {
+            return tableRules.isEmpty()? tableName : renamedTables.computeIfAbsent(tableName, k -> apply(tableRules, k));
+        }
+
+        /**
+         * Applies the column rename rules.
+         * @param columnName Column name
+         * @return Renamed column name, the same name if no rule matches
+         */
+        public String renameColumn(String columnName) {
+            return columnRules.isEmpty()? columnName : renamedColumns.computeIfAbsent(columnName, k -> apply(columnRules, k));
+        }
+
+        /**
+         * Applies the matching rules in order.
+         * @param rules Compiled rules
+         * @param name Name to rename
+         * @return Renamed name
+         */
+        private static String apply(List<Rule> rules, String name) {
+            for (Rule rule : rules) name = rule.apply(name);
+            return name;
+        }
+
+        /**
+         * Compiles the configured rules.
+         * @param configs Configured rules
+         * @return Immutable list of compiled rules
+         * @throws IllegalArgumentException If a rule has no prefix, suffix or pattern, or more than one of them.
+         */
+        private static List<Rule> compile(List<RuleConfig> configs) {
+            List<Rule> rules = new ArrayList<>(configs.size());
+            for (RuleConfig config : configs) {
+                String replace = Objects.requireNonNullElse(config.getReplace(), "");
+                int kinds = (config.getPrefix() != null? 1 : 0) + (config.getSuffix() != null? 1 : 0) + (config.getMatch() != null? 1 : 0);
+                if (kinds != 1) throw new IllegalArgumentException("A rename rule requires exactly one of prefix, suffix or match: " + config);
+
+                if (config.getPrefix() != null) rules.add(prefixRule(config.getPrefix(), replace));
+                else if (config.getSuffix() != null) rules.add(suffixRule(config.getSuffix(), replace));
+                else {
+                    Pattern pattern = Pattern.compile(config.getMatch(), Pattern.CASE_INSENSITIVE);
+                    rules.add(name -> {
+                        Matcher m = pattern.matcher(name);
+                        return m.matches()? m.replaceFirst(replace) : name;
+                    });
+                }
+            }
+            return List.copyOf(rules);
+        }
+
+        /**
+         * Returns a rule replacing a prefix, matched ignoring case.
+         * @param prefix Prefix to replace
+         * @param replace Replacement
+         * @return Compiled rule
+         */
+        private static Rule prefixRule(String prefix, String replace) {
+            return name -> name.regionMatches(true, 0, prefix, 0, prefix.length())? replace + name.substring(prefix.length()) : name;
+        }
+
+        /**
+         * Returns a rule replacing a suffix, matched ignoring case.
+         * @param suffix Suffix to replace
+         * @param replace Replacement
+         * @return Compiled rule
+         */
+        private static Rule suffixRule(String suffix, String replace) {
+            return name -> {
+                int start = name.length() - suffix.length();
+                return (start >= 0 && name.regionMatches(true, start, suffix, 0, suffix.length()))? name.substring(0, start) + replace : name;
+            };
+        }
+
+        /**
+         * Compiled rename rule.
+         */
+        @FunctionalInterface
+        private interface Rule {
+            /**
+             * Renames a name.
+             * @param name Name to rename
+             * @return Renamed name, the same name if the rule doesn't match
+             */
+            String apply(String name);
+        }
+    }
+
+    /**
+     * Internal class representing a rename rule: the name {@code prefix}, {@code suffix} or the whole name matching the
+     * {@code match} regular expression (all ignoring case) is replaced with {@code replace}, which can refer to the groups of {@code match}
+     */
+    public static class RuleConfig {
+        /**
+         * Prefix to replace.
+         */
+        private String prefix;
+        /**
+         * Suffix to replace.
+         */
+        private String suffix;
+        /**
+         * Regular expression matching the whole name.
+         */
+        private String match;
+        /**
+         * Replacement, empty to strip the prefix or the suffix.
+         */
+        private String replace;
+
+        /**
+         * Default constructor
+         */
+        public RuleConfig() {
+        }
+
+        /**
+         * Returns the prefix to replace
+         * @return Prefix
+         */
+        public String getPrefix() { return prefix; }
+
+        /**
+         * Sets the prefix to replace
+         * @param p Prefix
+         */
+        public void setPrefix(String p) { this.prefix = p; }
+
+        /**
+         * Returns the suffix to replace
+         * @return Suffix
+         */
+        public String getSuffix() { return suffix; }
+
+        /**
+         * Sets the suffix to replace
+         * @param s Suffix
+         */
+        public void setSuffix(String s) { this.suffix = s; }
+
+        /**
+         * Returns the regular expression matching the whole name
+         * @return Regular expression
+         */
+        public String getMatch() { return match; }
+
+        /**
+         * Sets the regular expression matching the whole name
+         * @param m Regular expression
+         */
+        public void setMatch(String m) { this.match = m; }
+
+        /**
+         * Returns the replacement
+         * @return Replacement
+         */
+        public String getReplace() { return replace; }
+
+        /**
+         * Sets the replacement
+         * @param r Replacement
+         */
+        public void setReplace(String r) { this.replace = r; }
+
+        @Override
+        public String toString() {
+            return "{prefix=" + prefix + ", suffix=" + suffix + ", match=" + match + ", replace=" + replace + "}";
         }
     }
 
@@ -189,21 +716,42 @@ public class GeneratorMappings {
      */
     public static class FiltersConfig {
         /**
-         * Compiled patterns for including tables.
+         * Include pattern made of literal characters, optionally followed by ".*".
+         */
+        private static final Pattern SIMPLE_PATTERN = Pattern.compile("((?:[A-Za-z0-9_#-]|\\\\[^A-Za-z0-9\\\\])+)(\\.\\*)?");
+
+        /**
+         * Include patterns as configured.
          */
-        private List<Pattern> includePatterns;
+        private List<String> include;
 
         /**
-         * Compiled patterns for excluding tables.
+         * Exclude patterns as configured.
          */
-        private List<Pattern> excludePatterns;
+        private List<String> exclude;
+
+        /**
+         * Inclusion patterns combined in a single alternation (null if everything is included).
+         */
+        private Pattern includePattern;
+
+        /**
+         * Exclusion patterns combined in a single alternation (null if nothing is excluded).
+         */
+        private Pattern excludePattern;
+
+        /**
+         * Inclusion and exclusion patterns combined in a single matcher.
+         */
+        private Pattern combinedPattern;
 
         /**
          * Default constructor
          */
         public FiltersConfig() {
-            this.includePatterns = List.of();
-            this.excludePatterns = List.of();
+            this.include = List.of();
+            this.exclude = List.of();
+            compile();
         }
 
         /**
@@ -211,12 +759,9 @@ public class GeneratorMappings {
          * @param include List of regex patterns
          */
         public void setInclude(List<String> include) {
-            if (include == null || include.isEmpty() || include.contains(".*")) this.includePatterns = List.of();
-            else {
-                List<Pattern> compiled = new ArrayList<>(include.size());
-                for (String s : include) if (s != null && !s.isBlank()) compiled.add(Pattern.compile(s));
-                this.includePatterns = List.copyOf(compiled);
-            }
+            if (include == null || include.isEmpty() || include.contains(".*")) this.include = List.of();
+            else this.include = nonBlank(include);
+            compile();
         }
 
         /**
@@ -224,12 +769,8 @@ public class GeneratorMappings {
          * @param exclude List of regex patterns
          */
         public void setExclude(List<String> exclude) {
-            if (exclude == null || exclude.isEmpty()) this.excludePatterns = List.of();
-            else {
-                List<Pattern> compiled = new ArrayList<>(exclude.size());
-                for (String s : exclude) if (s != null && !s.isBlank()) compiled.add(Pattern.compile(s));
-                this.excludePatterns = List.copyOf(compiled);
-            }
+            this.exclude = (exclude == null)? List.of() : nonBlank(exclude);
+            compile();
         }
 
         /**
@@ -238,9 +779,7 @@ public class GeneratorMappings {
          * @return true if included or if there are no inclusion filters
          */
         public boolean isIncluded(String t) {
-            if (includePatterns.isEmpty()) return true;
-            for (Pattern p : includePatterns) if (p.matcher(t).matches()) return true;
-            return false;
+            return includePattern == null || includePattern.matcher(t).matches();
         }
 
         /**
@@ -249,9 +788,80 @@ public class GeneratorMappings {
          * @return true if excluded
          */
         public boolean isExcluded(String t) {
-            if (excludePatterns.isEmpty()) return false;
-            for (Pattern p : excludePatterns) if (p.matcher(t).matches()) return true;
-            return false;
+            return excludePattern != null && excludePattern.matcher(t).matches();
+        }
+
+        /**
+         * Checks if the table name is included and not excluded, with a single match.
+         * @param t Table name
+         * @return true if the table is accepted by the filters
+         */
+        public boolean accepts(String t) {
+            return combinedPattern.matcher(t).matches();
+        }
+
+        /**
+         * Derives the table name patterns for {@link java.sql.DatabaseMetaData#getTables}, so that the database
+         * only returns the tables that can match the inclusion filters.
+         * Each include pattern must be a literal, optionally followed by ".*": otherwise all the tables are requested.
+         * The returned patterns only narrow the result, the regex filters must still be applied.
+         * @param searchEscape Escape string of the LIKE wildcards (see {@link java.sql.DatabaseMetaData#getSearchStringEscape})
+         * @return LIKE patterns, "%" if the inclusion filters cannot be pushed down
+         */
+        public List<String> getTableNamePatterns(String searchEscape) {
+            if (include.isEmpty()) return List.of("%");
+
+            Set<String> patterns = new LinkedHashSet<>();
+            for (String s : include) {
+                Matcher m = SIMPLE_PATTERN.matcher(s);
+                if (!m.matches()) return List.of("%");
+
+                StringBuilder like = new StringBuilder();
+                String literal = m.group(1);
+                for (int i = 0; i < literal.length(); i++) {
+                    char c = literal.charAt(i);
+                    if (c == '\\') c = literal.charAt(++i);
+                    if ((c == '_' || c == '%') && searchEscape != null) like.append(searchEscape);
+                    like.append(c);
+                }
+                if (m.group(2) != null) like.append('%');
+                patterns.add(like.toString());
+            }
+            return List.copyOf(patterns);
+        }
+
+        /**
+         * Compiles the configured patterns into the include, exclude and combined matchers.
+         */
+        private void compile() {
+            this.includePattern = include.isEmpty()? null : Pattern.compile(alternation(include));
+            this.excludePattern = exclude.isEmpty()? null : Pattern.compile(alternation(exclude));
+
+            String combined = include.isEmpty()? "(?s:.*)" : alternation(include);
+            if (!exclude.isEmpty()) combined = "(?!" + alternation(exclude) + "\\z)" + combined;
+            this.combinedPattern = Pattern.compile(combined);
+        }
+
+        /**
+         * Joins the patterns in a non-capturing alternation, validating each one of them.
+         * @param patterns List of regex patterns
+         * @return Alternation of the patterns
+         */
+        private static String alternation(List<String> patterns) {
+            StringJoiner joiner = new StringJoiner("|", "(?:", ")");
+            for (String s : patterns) joiner.add("(?:" + Pattern.compile(s).pattern() + ")");
+            return joiner.toString();
+        }
+
+        /**
+         * Removes null and blank entries.
+         * @param patterns List of regex patterns
+         * @return Immutable list of the non-blank patterns
+         */
+        private static List<String> nonBlank(List<String> patterns) {
+            List<String> result = new ArrayList<>(patterns.size());
+            for (String s : patterns) if (s != null && !s.isBlank()) result.add(s);
+            return List.copyOf(result);
         }
     }
-}
\ No newline at end of file
+}
@@ -4,60 +4,65 @@ package net.guarnie.maven.plugin.data.jdbc;
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Template;
 import com.github.jknack.handlebars.io.ClassPathTemplateLoader;
+import com.github.jknack.handlebars.io.CompositeTemplateLoader;
 import com.github.jknack.handlebars.io.FileTemplateLoader;
 import com.github.jknack.handlebars.io.TemplateLoader;
 import org.apache.commons.lang3.tuple.Pair;
-import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.yaml.snakeyaml.LoaderOptions;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.Constructor;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
 
 /**
  * Maven plugin for generating records for Spring Data JDBC.
  */
 @Mojo(name = "generate-records", defaultPhase = LifecyclePhase.GENERATE_SOURCES)
 @SuppressWarnings("unused")
-public class GeneratorMojo extends AbstractMojo {
+public class GeneratorMojo extends AbstractSchemaMojo {
     private static final Logger log = LoggerFactory.getLogger(GeneratorMojo.class);
 
     private static final String OFFSETDATETIME_CLASS = "java.time.OffsetDateTime";
     private static final String INSTANT_CLASS = "java.time.Instant";
+    private static final String JSON_CLASS = "com.fasterxml.jackson.databind.JsonNode";
+    private static final Map<String, String> PRIMITIVE_TYPES = Map.of(
+            "java.lang.Integer", "int", "java.lang.Long", "long", "java.lang.Double", "double", "java.lang.Boolean", "boolean");
     private static final String HBS_EXTENSION = ".hbs";
     private static final String TPL_TABLE_RECORD = "table-record";
-    private static final String JDBC_URL = "jdbc.url";
-    private static final String JDBC_USER = "jdbc.user";
-    private static final String JDBC_PASS = "jdbc.pass";
-    private static final String JDBC_SCHEMA = "jdbc.schema";
-
-    /**
-     * Path to the .env file containing database connection properties.
-     */
-    @Parameter(defaultValue = "${project.basedir}/.env")
-    private Path envPath;
-
-    /**
-     * Path to the YAML file containing custom table and column mappings.
-     */
-    @Parameter
-    private Path mappingsPath;
+    private static final String TPL_TABLE_ROW_MAPPER = "table-row-mapper";
+    private static final String TPL_TABLE_BATCH_WRITER = "table-batch-writer";
+    private static final String TPL_PROJECTION_RECORD = "projection-record";
+    private static final String TPL_DB_ENUM = "db-enum";
+    private static final String TPL_TABLE_ID_ALLOCATOR = "table-id-allocator";
+    private static final String TPL_TABLE_LOBS = "table-lobs";
+    private static final String FINGERPRINTS_FILE = "fingerprints.txt";
+    private static final String MANIFEST_FILE = "manifest.txt";
+    private static final String METRICS_FILE = "metrics.json";
+    private static final String DEFAULT_EXECUTION_ID = "default";
+    private static final int QUEUE_SIZE_PER_WORKER = 4;
+    private static final TableJob END_OF_JOBS = new TableJob(null, null);
+    private static final RenderedTable END_OF_TABLES = new RenderedTable(null, null, null);
 
     /**
      * The package name for the generated Java records.
+     * Required unless every entry of {@code schemas} has its own package name.
      */
-    @Parameter(required = true)
+    @Parameter
     private String packageName;
 
     /**
@@ -72,27 +77,214 @@ public class GeneratorMojo extends AbstractMojo {
     @Parameter(defaultValue = "false")
     private boolean useOffsetDateTime;
 
+    /**
+     * Whether to use primitive types ({@code int}, {@code long}, {@code double}, {@code boolean}) for
+     * NOT NULL columns instead of the boxed ones. Primary key columns keep the boxed types.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean usePrimitiveTypes;
+
+    /**
+     * Mapping of the large object columns: {@code materialize} ({@code byte[]} and {@code String} record components, loaded with the row)
+     * or {@code stream} (left out of the record, read and written as streams by a generated {@code <Record>Lobs} class).
+     * Can be overridden per column in the {@code lobs} section of the mappings file.
+     */
+    @Parameter(defaultValue = "materialize")
+    private String lobStrategy;
+
     /**
      * Path to a directory containing custom Handlebars templates.
      */
     @Parameter
     private Path templatesPath;
 
+    /**
+     * Templates rendered for each table, each with its output file name and package name patterns.
+     * Defaults to the {@code table-record} template generating the record class.
+     */
+    @Parameter
+    private List<TemplateConfig> templates;
+
+    /**
+     * Whether to also generate a reflection-free {@code RowMapper} per table, reading the columns by index
+     * and calling the record constructor, with the matching {@code SELECT} statement.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean generateRowMappers;
+
+    /**
+     * Whether to also generate a batch writer per table, with the {@code INSERT} and {@code UPSERT} statements
+     * and a {@code BatchPreparedStatementSetter} binding the record components by index.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean generateBatchWriters;
+
+    /**
+     * SQL dialect of the generated statements: {@code auto} (selected from the JDBC URL, or from the one
+     * the snapshot has been taken with), {@code postgresql}, {@code mysql}, {@code h2}, {@code oracle},
+     * {@code sqlserver} or {@code standard}.
+     */
+    @Parameter(defaultValue = "auto")
+    private String sqlDialect;
+
+    /**
+     * Whether to also generate an ID allocator per table whose single primary key column is generated by a sequence,
+     * reading the keys of a whole batch with a single database call.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean generateIdAllocators;
+
+    /**
+     * Whether to map the columns of database enum types to generated Java enums, read by the {@code postgresql} introspector.
+     * When disabled, these columns keep the Java type of their JDBC type.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean useEnumTypes;
+
+    /**
+     * Strategy of the generated ID allocators: {@code sequence} (the values of a batch read with a single query)
+     * or {@code pooled} (blocks of {@code idAllocationSize} values reserved with a single sequence call,
+     * the sequence increment being {@code idAllocationSize}).
+     */
+    @Parameter(defaultValue = "sequence")
+    private String idAllocation;
+
+    /**
+     * Number of values reserved by each sequence call of the {@code pooled} ID allocators.
+     */
+    @Parameter(defaultValue = "50")
+    private int idAllocationSize;
+
+    /**
+     * Number of worker threads of the metadata and rendering stages of the generation pipeline.
+     * Without bulk introspection each metadata worker uses its own database connection.
+     */
+    @Parameter(defaultValue = "1")
+    private int parallelism;
+
+    /**
+     * Whether to skip rendering and writing of the tables whose schema fingerprint
+     * has not changed since the previous generation.
+     */
+    @Parameter(defaultValue = "true")
+    private boolean incremental;
+
+    /**
+     * Directory where the generator keeps its state between builds, in a subdirectory per execution.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/data-jdbc")
+    private Path statePath;
+
+    /**
+     * Current execution, whose id keys the generator state.
+     */
+    @Parameter(defaultValue = "${mojoExecution}", readonly = true)
+    private MojoExecution mojoExecution;
+
+    /**
+     * Version of this plugin, part of the generation fingerprint.
+     */
+    @Parameter(defaultValue = "${plugin.version}", readonly = true)
+    private String pluginVersion;
+
+    /**
+     * Number of slowest tables listed in the metrics summary and report.
+     */
+    @Parameter(defaultValue = "10")
+    private int slowestTables;
+
+    /**
+     * Path to a schema snapshot written by the {@code snapshot-schema} goal.
+     * When set, the records are generated from the snapshot without connecting to the database.
+     */
+    @Parameter
+    private Path snapshotPath;
+
     /**
      * Loaded generator mappings configuration.
      */
     private GeneratorMappings mappings;
 
     /**
-     * The Handlebars template used for record generation.
+     * The Handlebars templates rendered for each table, compiled once.
+     */
+    private List<CompiledTemplate> compiledTemplates;
+
+    /**
+     * The Handlebars template of the projection records, compiled once.
+     */
+    private Template projectionTemplate;
+
+    /**
+     * The Handlebars template of the Java enums of the database enum types, compiled once.
+     */
+    private Template enumTemplate;
+
+    /**
+     * Java enum files already rendered in the current generation, shared by the tables using the same enum type.
+     */
+    private Set<String> renderedEnums;
+
+    /**
+     * Relative paths of the files generated for the tables of the current generation, which the Java enums must not overwrite.
+     */
+    private Set<String> tableOutputs;
+
+    /**
+     * The Handlebars template of the ID allocators, compiled once.
      */
-    private Template template;
+    private Template idAllocatorTemplate;
+
+    /**
+     * The Handlebars template of the classes streaming the large objects, compiled once.
+     */
+    private Template lobsTemplate;
+
+    /**
+     * The strategy of the generated ID allocators.
+     */
+    private IdAllocation idAllocationStrategy;
 
     /**
      * The fully qualified name of the Java class to use for timestamp with timezone fields.
      */
     private String timestampTzClassName;
 
+    /**
+     * The SQL dialect of the generated statements.
+     */
+    private SqlDialect dialect;
+
+    /**
+     * The strategy of the large object columns without a custom one.
+     */
+    private LobStrategy defaultLobStrategy;
+
+    /**
+     * Fingerprints of the previous and current generation.
+     */
+    private FingerprintStore fingerprints;
+
+    /**
+     * Files produced by the previous and current generation.
+     */
+    private OutputManifest manifest;
+
+    /**
+     * Timings and counters of the current generation.
+     */
+    private GenerationMetrics metrics;
+
+    /**
+     * Fingerprint of the settings shared by all tables (templates, type options).
+     */
+    private String configFingerprint;
+
+    /**
+     * Directory of the state of the current execution.
+     */
+    private Path executionStatePath;
+
     /**
      * Default constructor
      */
@@ -107,89 +299,1058 @@ public class GeneratorMojo extends AbstractMojo {
     public void execute() throws MojoExecutionException {
         log.info("Starting Spring Data JDBC Record Generation");
 
+        this.metrics = new GenerationMetrics();
+        this.renderedEnums = ConcurrentHashMap.newKeySet();
+        this.tableOutputs = new HashSet<>();
         this.timestampTzClassName = useOffsetDateTime? OFFSETDATETIME_CLASS : INSTANT_CLASS;
+        try {
+            this.defaultLobStrategy = LobStrategy.of(lobStrategy);
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException("Unknown LOB strategy: " + lobStrategy, e);
+        }
+        try {
+            this.idAllocationStrategy = IdAllocation.of(idAllocation);
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException("Unknown ID allocation strategy: " + idAllocation, e);
+        }
+        if (idAllocationSize < 1) throw new MojoExecutionException("Invalid ID allocation size: " + idAllocationSize);
         this.mappings = loadMappings(mappingsPath);
-        Properties dbEnv = loadEnv(envPath);
-        this.template = loadTemplate(templatesPath);
+        this.compiledTemplates = loadTemplates(templatesPath);
+        this.executionStatePath = statePath.resolve(executionId());
+        this.fingerprints = loadFingerprints(executionStatePath.resolve(FINGERPRINTS_FILE));
+        this.manifest = loadManifest(executionStatePath.resolve(MANIFEST_FILE));
+        Properties dbEnv = (snapshotPath == null)? loadEnv(envPath) : null;
+        this.dialect = resolveDialect(dbEnv);
+        Fingerprint config = new Fingerprint().add(pluginVersion).add(useOffsetDateTime).add(usePrimitiveTypes).add(dialect.name()).add(defaultLobStrategy.name());
+        config.add(projectionTemplate.text()).add(useEnumTypes).add(enumTemplate.text());
+        config.add(generateIdAllocators).add(idAllocationStrategy.name()).add(idAllocationSize).add(idAllocatorTemplate.text()).add(lobsTemplate.text());
+        for (CompiledTemplate t : compiledTemplates) config.add(t.name()).add(t.body().text()).add(t.fileName().text()).add(t.packageName().text());
+        this.configFingerprint = config.toHex();
 
-        try (Connection conn = DriverManager.getConnection(dbEnv.getProperty(JDBC_URL), dbEnv.getProperty(JDBC_USER), dbEnv.getProperty(JDBC_PASS))) {
-            DatabaseMetaData meta = conn.getMetaData();
-            String schema = dbEnv.getProperty(JDBC_SCHEMA);
+        try {
+            if (snapshotPath != null) generateFromSnapshot(snapshotPath);
+            else generateFromDatabase(dbEnv);
 
-            try (ResultSet rsTables = meta.getTables(null, schema, "%", new String[]{"TABLE"})) {
-                while (rsTables.next()) {
-                    String tableName = rsTables.getString("TABLE_NAME");
-                    if (mappings.shouldProcessTable(tableName)) generateRecordFile(meta, tableName, schema);
-                }
+            for (String stale : manifest.deleteStale(outputPath, otherManifests())) {
+                log.info("Deleted stale file: {}", stale);
+                metrics.add(GenerationMetrics.Counter.FILES_DELETED, 1);
             }
+            manifest.save();
+            fingerprints.save();
+        } catch (MojoExecutionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Critical error during record generation", e);
             throw new MojoExecutionException("Generation failed", e);
+        } finally {
+            reportMetrics();
         }
     }
 
     /**
-     * Generates a Java source file representing a Java record class that maps
-     * a database table from a specific schema.
-     * @param meta Database metadata
-     * @param tableName Table name
+     * Returns the id of the current execution, so that the executions of a module keep separate states.
+     * @return Execution id usable as a directory name
+     */
+    private String executionId() {
+        String id = (mojoExecution != null)? mojoExecution.getExecutionId() : null;
+        return (id == null || id.isBlank())? DEFAULT_EXECUTION_ID : id.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /**
+     * Returns the manifest files of the other executions sharing the state directory.
+     * @return Paths of the manifest files
+     * @throws IOException If the state directory cannot be read.
+     */
+    private List<Path> otherManifests() throws IOException {
+        List<Path> others = new ArrayList<>();
+        if (!Files.isDirectory(statePath)) return others;
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(statePath, Files::isDirectory)) {
+            for (Path dir : dirs) {
+                Path other = dir.resolve(MANIFEST_FILE);
+                if (!dir.equals(executionStatePath) && Files.exists(other)) others.add(other);
+            }
+        }
+        return others;
+    }
+
+    /**
+     * Returns the SQL dialect selected by the {@code sqlDialect} parameter, by default the dialect of the database
+     * the schema is read from, so that generating from a snapshot gives the same statements as generating online.
+     * @param dbEnv Database configuration properties, null when generating from a snapshot
+     * @return SQL dialect
+     * @throws MojoExecutionException If no dialect has the configured name or the snapshot cannot be read.
+     */
+    private SqlDialect resolveDialect(Properties dbEnv) throws MojoExecutionException {
+        SqlDialect detected;
+        if (dbEnv != null) detected = SqlDialect.fromJdbcUrl(dbEnv.getProperty(JDBC_URL));
+        else {
+            if (!Files.exists(snapshotPath)) throw new MojoExecutionException("Snapshot path not exists: " + snapshotPath);
+            try (SchemaSnapshot.Reader reader = SchemaSnapshot.Reader.open(snapshotPath)) {
+                detected = reader.dialect();
+            } catch (IOException e) {
+                throw new MojoExecutionException("Failed to read schema snapshot: " + snapshotPath, e);
+            }
+        }
+
+        try {
+            return SqlDialect.resolve(sqlDialect, detected);
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException("Unknown SQL dialect: " + sqlDialect, e);
+        }
+    }
+
+    /**
+     * Logs the metrics summary and writes the JSON metrics report.
+     */
+    private void reportMetrics() {
+        metrics.logSummary(log, slowestTables);
+        Path report = executionStatePath.resolve(METRICS_FILE);
+        try {
+            metrics.writeJson(report, slowestTables);
+        } catch (IOException e) {
+            log.warn("Failed to write metrics report: {}", report, e);
+        }
+    }
+
+    /**
+     * Resolves the schemas to generate, with their package and mappings.
+     * @param defaultSchema Schema used when the {@code schemas} parameter is not set
+     * @return Generation targets, one per schema
+     * @throws MojoExecutionException If a package name is missing or a mappings file cannot be loaded.
+     */
+    private List<Target> resolveTargets(String defaultSchema) throws MojoExecutionException {
+        Map<Path, GeneratorMappings> loaded = new HashMap<>();
+        List<Target> targets = new ArrayList<>();
+        for (SchemaConfig schema : resolveSchemas(defaultSchema)) {
+            String pkg = (schema.getPackageName() != null)? schema.getPackageName() : packageName;
+            if (pkg == null || pkg.isBlank()) throw new MojoExecutionException("Missing packageName for schema: " + schema.getName());
+            GeneratorMappings schemaMappings = schemaMappings(schema, mappings, loaded);
+            for (GeneratorMappings.ProjectionConfig projection : schemaMappings.getProjections()) {
+                if (projection.getName() == null || projection.getName().isBlank() || projection.getTable() == null || projection.getColumns().isEmpty())
+                    throw new MojoExecutionException("Projections require a name, a table and at least one column: " + projection.getName());
+            }
+            targets.add(new Target(schema.getName(), pkg, schemaMappings));
+        }
+        return targets;
+    }
+
+    /**
+     * Generates the records reading the schema metadata from the database.
+     * All the schemas share a small set of connections and are processed concurrently.
+     * @param dbEnv Database configuration properties
+     * @throws Exception If database access fails.
+     */
+    private void generateFromDatabase(Properties dbEnv) throws Exception {
+        List<Target> targets = resolveTargets(dbEnv.getProperty(JDBC_SCHEMA));
+        SchemaIntrospector schemaIntrospector = resolveIntrospector(dbEnv.getProperty(JDBC_URL));
+
+        try (ConnectionSet connections = new ConnectionSet(parallelism, () -> openConnectionTimed(dbEnv))) {
+            List<Callable<List<TableWork>>> listings = new ArrayList<>();
+            for (Target target : targets) listings.add(() -> connections.with(conn -> listTables(schemaIntrospector, conn, target)));
+
+            List<TableWork> work = new ArrayList<>();
+            for (List<TableWork> tables : callAll(listings)) work.addAll(tables);
+            if (useEnumTypes) for (TableWork w : work) reserveTableOutputs(w.target(), w.target().schema(), w.tableName());
+
+            runPipeline(work, TableWork::key, w -> {
+                TableInfo table = (w.table() != null)? w.table()
+                        : connections.with(conn -> readTableTimed(schemaIntrospector, conn, w.target().schema(), w.tableName()));
+                if (!readIndexes) return new TableJob(w.target(), table);
+                return new TableJob(w.target(), connections.with(conn -> readIndexesTimed(schemaIntrospector, conn, table)));
+            });
+        }
+    }
+
+    /**
+     * Lists the tables of a schema to generate, also reading their metadata when bulk introspection is enabled.
+     * @param schemaIntrospector Schema introspector
+     * @param conn Database connection
+     * @param target Generation target
+     * @return Tables to generate
+     * @throws SQLException If database access fails.
+     */
+    private List<TableWork> listTables(SchemaIntrospector schemaIntrospector, Connection conn, Target target) throws SQLException {
+        long start = System.nanoTime();
+        List<String> tableNames = schemaIntrospector.readTableNames(conn, target.schema(), target.mappings());
+        metrics.addTime(GenerationMetrics.Phase.TABLES, System.nanoTime() - start);
+
+        Map<String, TableInfo> tables = Map.of();
+        if (bulkIntrospection) {
+            start = System.nanoTime();
+            tables = schemaIntrospector.readSchema(conn, target.schema(), tableNames);
+            metrics.addTime(GenerationMetrics.Phase.METADATA, System.nanoTime() - start);
+        }
+
+        List<TableWork> work = new ArrayList<>(tableNames.size());
+        for (String tableName : tableNames) work.add(new TableWork(target, tableName, tables.get(tableName)));
+        return work;
+    }
+
+    /**
+     * Generates the records reading the schema metadata from a snapshot file, one table at a time.
+     * Without the {@code schemas} parameter all the tables of the snapshot are generated.
+     * @param path Path to the snapshot file
+     * @throws Exception If the snapshot cannot be read.
+     */
+    private void generateFromSnapshot(Path path) throws Exception {
+        Map<String, Target> targets = new HashMap<>();
+        for (Target target : resolveTargets(null)) targets.put(target.schema(), target);
+        Target anySchema = targets.get(null);
+
+        if (useEnumTypes) {
+            // The enum names depend on all the table outputs, known before the first table is rendered
+            try (SchemaSnapshot.Reader reader = SchemaSnapshot.Reader.open(path)) {
+                for (TableInfo table : (Iterable<TableInfo>) () -> reader) {
+                    Target target = targets.getOrDefault(table.schema(), anySchema);
+                    if (target != null && target.mappings().shouldProcessTable(table.name())) reserveTableOutputs(target, table.schema(), table.name());
+                }
+            }
+        }
+        try (SchemaSnapshot.Reader reader = SchemaSnapshot.Reader.open(path)) {
+            log.info("Using schema snapshot: {}", path);
+            runPipeline(() -> reader, table -> tableKey(table.schema(), table.name()), table -> {
+                Target target = targets.getOrDefault(table.schema(), anySchema);
+                boolean process = target != null && target.mappings().shouldProcessTable(table.name());
+                return process? new TableJob(target, table) : null;
+            });
+        }
+    }
+
+    /**
+     * Runs the calls, concurrently when {@code parallelism} is greater than one.
+     * @param calls Calls to run
+     * @param <R> Result type
+     * @return Results, in the same order as the calls
+     * @throws Exception The failure of the first failed call.
+     */
+    private <R> List<R> callAll(List<Callable<R>> calls) throws Exception {
+        List<R> results = new ArrayList<>(calls.size());
+        if (parallelism <= 1 || calls.size() <= 1) {
+            for (Callable<R> call : calls) results.add(call.call());
+            return results;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, calls.size()));
+        try {
+            for (Future<R> future : executor.invokeAll(calls)) {
+                try { results.add(future.get()); }
+                catch (ExecutionException e) { throw (e.getCause() instanceof Exception cause)? cause : e; }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates the tables through a pipeline of three stages connected by bounded queues,
+     * so that metadata reads (network), template rendering (CPU) and file writes (disk) overlap:
+     * <ul>
+     *     <li>metadata: {@code parallelism} threads turn each item into the table metadata;</li>
+     *     <li>rendering: {@code parallelism} threads render the table records in memory;</li>
+     *     <li>writing: a single thread writes the files whose content has changed.</li>
+     * </ul>
+     * The items are consumed lazily and the number of tables in flight is bounded by the queue size,
+     * whatever the schema size. Failures are collected per table and reported once the pipeline is drained.
+     * @param items Items to process, one per table
+     * @param nameOf Function returning the table key of an item
+     * @param metadataStage Function returning the metadata of an item, null to skip it
+     * @param <T> Item type
+     * @throws MojoExecutionException If one or more tables fail or the execution is interrupted.
+     */
+    private <T> void runPipeline(Iterable<T> items, Function<T, String> nameOf, MetadataStage<T> metadataStage) throws MojoExecutionException {
+        int workers = Math.max(1, parallelism);
+        int queueSize = workers * QUEUE_SIZE_PER_WORKER;
+        Map<String, Exception> failures = new ConcurrentSkipListMap<>();
+        BlockingQueue<TableJob> renderQueue = new ArrayBlockingQueue<>(queueSize);
+        BlockingQueue<RenderedTable> writeQueue = new ArrayBlockingQueue<>(queueSize);
+
+        ExecutorService metadataPool = Executors.newFixedThreadPool(workers);
+        ExecutorService stagesPool = Executors.newFixedThreadPool(workers + 1);
+        try {
+            List<Future<?>> renderers = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) renderers.add(stagesPool.submit(() -> renderStage(renderQueue, writeQueue, failures)));
+            Future<?> writer = stagesPool.submit(() -> writeStage(writeQueue, failures));
+
+            Semaphore pending = new Semaphore(queueSize);
+            for (T item : items) {
+                pending.acquire();
+                metadataPool.execute(() -> {
+                    String key = nameOf.apply(item);
+                    long start = System.nanoTime();
+                    try {
+                        TableJob job = metadataStage.read(item);
+                        metrics.addTableTime(key, System.nanoTime() - start);
+                        if (job != null) renderQueue.put(job);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (Exception e) {
+                        fail(failures, key, e);
+                    } finally {
+                        pending.release();
+                    }
+                });
+            }
+
+            metadataPool.shutdown();
+            while (!metadataPool.awaitTermination(1, TimeUnit.MINUTES)) log.debug("Waiting for metadata stage to complete");
+            for (int i = 0; i < workers; i++) renderQueue.put(END_OF_JOBS);
+            for (Future<?> renderer : renderers) renderer.get();
+            writeQueue.put(END_OF_TABLES);
+            writer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new MojoExecutionException("Generation pipeline failed", e.getCause());
+        } finally {
+            metadataPool.shutdownNow();
+            stagesPool.shutdownNow();
+        }
+
+        if (!failures.isEmpty()) {
+            failures.forEach((tableKey, e) -> log.error("Failed to generate table: {}", tableKey, e));
+            throw new MojoExecutionException("Generation failed for " + failures.size() + " table(s): " + String.join(", ", failures.keySet()));
+        }
+    }
+
+    /**
+     * Rendering stage: renders the tables taken from the queue until the end marker.
+     * @param renderQueue Tables to render
+     * @param writeQueue Rendered tables to write
+     * @param failures Failures by table key
+     * @return Nothing
+     * @throws InterruptedException If interrupted while waiting on a queue.
+     */
+    private Void renderStage(BlockingQueue<TableJob> renderQueue, BlockingQueue<RenderedTable> writeQueue, Map<String, Exception> failures) throws InterruptedException {
+        for (TableJob job = renderQueue.take(); job != END_OF_JOBS; job = renderQueue.take()) {
+            String key = tableKey(job.table().schema(), job.table().name());
+            long start = System.nanoTime();
+            RenderedTable rendered = null;
+            try {
+                rendered = renderTable(job.target(), job.table());
+            } catch (Exception e) {
+                fail(failures, key, e);
+            }
+            metrics.addTableTime(key, System.nanoTime() - start);
+            if (rendered != null) writeQueue.put(rendered);
+        }
+        return null;
+    }
+
+    /**
+     * Writing stage: writes the files of the tables taken from the queue until the end marker.
+     * The table fingerprint is recorded once all its files are written.
+     * @param writeQueue Rendered tables to write
+     * @param failures Failures by table key
+     * @return Nothing
+     * @throws InterruptedException If interrupted while waiting on the queue.
+     */
+    private Void writeStage(BlockingQueue<RenderedTable> writeQueue, Map<String, Exception> failures) throws InterruptedException {
+        for (RenderedTable table = writeQueue.take(); table != END_OF_TABLES; table = writeQueue.take()) {
+            long start = System.nanoTime();
+            try {
+                for (RenderedFile file : table.files()) {
+                    if (!writeIfChanged(file.path(), file.content())) log.debug("Output unchanged: {}", file.path());
+                }
+                fingerprints.put(table.tableKey(), table.fingerprint());
+            } catch (Exception e) {
+                fail(failures, table.tableKey(), e);
+            }
+            metrics.addTableTime(table.tableKey(), System.nanoTime() - start);
+        }
+        return null;
+    }
+
+    /**
+     * Records the failure of a table, keeping only its first failure.
+     * @param failures Failures by table key
+     * @param tableKey Table key
+     * @param e Failure
+     */
+    private void fail(Map<String, Exception> failures, String tableKey, Exception e) {
+        if (failures.putIfAbsent(tableKey, e) == null) metrics.add(GenerationMetrics.Counter.TABLES_FAILED, 1);
+    }
+
+    /**
+     * Opens a new database connection, recording the time spent.
+     * @param dbEnv Database configuration properties
+     * @return Open connection
+     * @throws SQLException If the connection cannot be established.
+     */
+    private Connection openConnectionTimed(Properties dbEnv) throws SQLException {
+        long start = System.nanoTime();
+        Connection conn = openConnection(dbEnv);
+        metrics.addTime(GenerationMetrics.Phase.CONNECTION, System.nanoTime() - start);
+        return conn;
+    }
+
+    /**
+     * Reads the metadata of a single table, recording its latency.
+     * @param schemaIntrospector Schema introspector
+     * @param conn Database connection
      * @param schema Database schema
-     * @throws Exception If database access fails or file writing fails.
+     * @param tableName Table name
+     * @return Table metadata
+     * @throws SQLException If database access fails.
      */
-    private void generateRecordFile(DatabaseMetaData meta, String tableName, String schema) throws Exception {
+    private TableInfo readTableTimed(SchemaIntrospector schemaIntrospector, Connection conn, String schema, String tableName) throws SQLException {
+        long start = System.nanoTime();
+        TableInfo table = schemaIntrospector.readTable(conn, schema, tableName);
+        metrics.metadataTime(tableKey(schema, tableName), System.nanoTime() - start);
+        return table;
+    }
+
+    /**
+     * Reads indexes and foreign keys of a table, recording the time spent.
+     * @param schemaIntrospector Schema introspector
+     * @param conn Database connection
+     * @param table Table metadata
+     * @return Table metadata with its indexes and foreign keys
+     * @throws SQLException If database access fails.
+     */
+    private TableInfo readIndexesTimed(SchemaIntrospector schemaIntrospector, Connection conn, TableInfo table) throws SQLException {
+        long start = System.nanoTime();
+        TableInfo indexed = schemaIntrospector.readIndexes(conn, table);
+        metrics.addTime(GenerationMetrics.Phase.METADATA, System.nanoTime() - start);
+        return indexed;
+    }
+
+    /**
+     * Renders the files of a database table from a specific schema, one per template,
+     * all from the same context built once per table.
+     * @param target Generation target of the table schema
+     * @param table Table metadata
+     * @return Rendered table, null if the table has not changed since the previous generation
+     * @throws IOException If the template rendering fails.
+     */
+    private RenderedTable renderTable(Target target, TableInfo table) throws IOException {
+        GeneratorMappings mappings = target.mappings();
+        String packageName = target.packageName();
+        String tableName = table.name();
+        String tableKey = tableKey(table.schema(), tableName);
         String javaClassName = mappings.getMappedTableName(tableName);
+
+        // Output names only depend on the naming values, so unchanged tables are skipped before building the full context
+        Map<String, Object> naming = naming(packageName, javaClassName, tableName, table.schema());
+        List<String> packageNames = new ArrayList<>(compiledTemplates.size());
+        List<Path> outFiles = new ArrayList<>(compiledTemplates.size());
+        // Records go to the package of the table-record template, and the types they use along with them
+        String recordPackage = packageName;
+        boolean outputExists = true;
+        for (CompiledTemplate t : compiledTemplates) {
+            String filePackage = t.packageName().apply(naming).trim();
+            String relativePath = relativePath(filePackage, t.fileName().apply(naming).trim());
+            Path outFile = outputPath.resolve(relativePath);
+            manifest.add(relativePath);
+            outputExists &= Files.exists(outFile);
+            packageNames.add(filePackage);
+            outFiles.add(outFile);
+            if (TPL_TABLE_RECORD.equals(t.name())) recordPackage = filePackage;
+        }
+        // Java enums of the database enum types, shared by all the tables of the schema using them
+        Map<String, ColumnInfo> enumTypes = new TreeMap<>();
+        for (ColumnInfo column : table.columns()) if (isEnum(column)) enumTypes.putIfAbsent(enumName(mappings, recordPackage, column.typeName()), column);
+        Map<String, Path> enumFiles = new TreeMap<>();
+        for (String enumName : enumTypes.keySet()) {
+            String relativePath = relativePath(recordPackage, enumName + ".java");
+            manifest.add(relativePath);
+            outputExists &= Files.exists(outputPath.resolve(relativePath));
+            enumFiles.put(enumName, outputPath.resolve(relativePath));
+        }
+        List<GeneratorMappings.ProjectionConfig> projections = mappings.getProjectionsForTable(tableName);
+        List<Path> projectionFiles = new ArrayList<>(projections.size());
+        for (GeneratorMappings.ProjectionConfig projection : projections) {
+            String relativePath = relativePath(recordPackage, projection.getName() + ".java");
+            Path outFile = outputPath.resolve(relativePath);
+            manifest.add(relativePath);
+            outputExists &= Files.exists(outFile);
+            projectionFiles.add(outFile);
+        }
+        // ID allocator of a single column primary key generated by a sequence the dialect can read, and accepting the allocated values
+        ColumnInfo generatedKey = (table.pkNames().size() == 1)? table.columns().stream()
+                .filter(c -> c.autoIncrement() && table.isPrimaryKey(c.name())).findFirst().orElse(null) : null;
+        Path idAllocatorFile = null;
+        if (generateIdAllocators && generatedKey != null && !generatedKey.generatedAlways() && generatedKey.sequence() != null && dialect.nextValue(generatedKey.sequence()) != null) {
+            String relativePath = relativePath(recordPackage, javaClassName + "IdAllocator.java");
+            manifest.add(relativePath);
+            idAllocatorFile = outputPath.resolve(relativePath);
+            outputExists &= Files.exists(idAllocatorFile);
+        }
+        // Large objects streamed on demand are left out of the record, and read and written by primary key
+        List<ColumnInfo> streamed = new ArrayList<>();
+        for (ColumnInfo column : table.columns()) {
+            if (!table.isPrimaryKey(column.name()) && isLob(column) && mappings.getLobStrategy(tableName, column.name(), defaultLobStrategy) == LobStrategy.STREAM) streamed.add(column);
+        }
+        if (!streamed.isEmpty() && table.pkNames().isEmpty()) {
+            log.warn("Large objects of {} loaded with the row: streaming requires a primary key", tableName);
+            streamed.clear();
+        }
+        Path lobsFile = null;
+        if (!streamed.isEmpty()) {
+            String relativePath = relativePath(recordPackage, javaClassName + "Lobs.java");
+            manifest.add(relativePath);
+            lobsFile = outputPath.resolve(relativePath);
+            outputExists &= Files.exists(lobsFile);
+        }
+
+        String fingerprint = fingerprint(target, table, javaClassName, enumTypes.keySet());
+        if (incremental && fingerprints.isUnchanged(tableKey, fingerprint) && outputExists) {
+            log.debug("Unchanged: {} -> {}", tableName, javaClassName);
+            fingerprints.put(tableKey, fingerprint);
+            metrics.add(GenerationMetrics.Counter.TABLES_UNCHANGED, 1);
+            metrics.add(GenerationMetrics.Counter.COLUMNS_UNCHANGED, table.columns().size());
+            return null;
+        }
         log.info("Generating: {} -> {}", tableName, javaClassName);
+        metrics.add(GenerationMetrics.Counter.TABLES_GENERATED, 1);
+        metrics.add(GenerationMetrics.Counter.COLUMNS, table.columns().size());
 
         List<Map<String, Object>> cols = new ArrayList<>();
         List<Map<String, Object>> pkCols = new ArrayList<>();
         Set<String> imports = new TreeSet<>();
-        Set<String> pkNames = new HashSet<>();
-
-        try (ResultSet rs = meta.getPrimaryKeys(null, schema, tableName)) {
-            while (rs.next()) pkNames.add(rs.getString("COLUMN_NAME").toLowerCase());
-        }
-
-        try (ResultSet rs = meta.getColumns(null, schema, tableName, null)) {
-            while (rs.next()) {
-                String dbColName = rs.getString("COLUMN_NAME");
-                int dataType = rs.getInt("DATA_TYPE");
-                String typeName = rs.getString("TYPE_NAME");
-                int precision = rs.getInt("COLUMN_SIZE");
-                int scale = rs.getInt("DECIMAL_DIGITS");
-                String fullType = mapSqlType(dataType, typeName, precision, scale);
-                int dotPos = fullType.lastIndexOf(".");
-                if (dotPos > -1 && !fullType.startsWith("java.lang.")) imports.add(fullType);
-
-                Pair<String,Boolean> javaCol = mappings.getMappedColumnName(tableName, dbColName);
-                String simpleType = fullType.substring(dotPos + 1);
-
-                Map<String, Object> col = Map.of(
-                        "javaName", javaCol.getLeft(),
-                        "dbName", dbColName,
-                        "type", simpleType,
-                        "hasCustomMapping", javaCol.getRight()
-                );
-
-                if (pkNames.contains(dbColName.toLowerCase())) pkCols.add(col);
-                else cols.add(col);
+        Set<String> getterTypes = new HashSet<>();
+        List<String> sqlColumns = new ArrayList<>(table.columns().size());
+        // Columns generated always by the database are read but never written
+        List<String> sqlInsertColumns = new ArrayList<>(table.columns().size());
+        List<String> sqlKeyColumns = new ArrayList<>();
+        boolean generatedKeyColumn = false;
+        Map<String, Map<String, Object>> colsByName = new HashMap<>();
+        Map<String, String> fullTypes = new HashMap<>();
+
+        // Record components order: primary key columns first, then the other columns
+        List<ColumnInfo> ordered = new ArrayList<>(table.columns().size());
+        for (ColumnInfo column : table.columns()) if (table.isPrimaryKey(column.name())) ordered.add(column);
+        for (ColumnInfo column : table.columns()) if (!table.isPrimaryKey(column.name()) && !streamed.contains(column)) ordered.add(column);
+
+        int index = 0;
+        int insertIndex = 0;
+        for (ColumnInfo column : ordered) {
+            String dbColName = column.name();
+            boolean isEnum = isEnum(column);
+            String fullType = isEnum? qualifiedName(recordPackage, enumName(mappings, recordPackage, column.typeName()))
+                    : mapSqlType(column.dataType(), column.typeName(), column.precision(), column.scale());
+            if (usePrimitiveTypes && !column.nullable() && !table.isPrimaryKey(dbColName)) fullType = PRIMITIVE_TYPES.getOrDefault(fullType, fullType);
+            int dotPos = fullType.lastIndexOf(".");
+            if (dotPos > -1 && !fullType.startsWith("java.lang.") && !isEnum) imports.add(fullType);
+
+            Pair<String,Boolean> javaCol = mappings.getMappedColumnName(tableName, dbColName);
+            String simpleType = fullType.substring(dotPos + 1);
+            getterTypes.add(fullType);
+            sqlColumns.add(dialect.identifier(dbColName));
+            if (!column.generatedAlways()) sqlInsertColumns.add(dialect.identifier(dbColName));
+            if (table.isPrimaryKey(dbColName)) sqlKeyColumns.add(dialect.identifier(dbColName));
+            if (table.isPrimaryKey(dbColName) && column.generatedAlways()) generatedKeyColumn = true;
+            String accessor = "record." + ((table.isPrimaryKey(dbColName) && table.pkNames().size() > 1)? "id()." : "") + javaCol.getLeft() + "()";
+
+            Map<String, Object> col = Map.ofEntries(
+                    Map.entry("javaName", javaCol.getLeft()),
+                    Map.entry("dbName", dbColName),
+                    Map.entry("type", simpleType),
+                    Map.entry("hasCustomMapping", javaCol.getRight()),
+                    Map.entry("nullable", column.nullable()),
+                    Map.entry("index", ++index),
+                    Map.entry("getter", resultSetGetter(fullType, isEnum, index)),
+                    Map.entry("setter", column.generatedAlways()? "" : statementSetter(fullType, isEnum, column.dataType(), ++insertIndex, accessor)),
+                    Map.entry("qualifiedType", fullType.replace("java.lang.", "")),
+                    Map.entry("isEnum", isEnum),
+                    Map.entry("autoIncrement", column.autoIncrement()),
+                    Map.entry("generatedAlways", column.generatedAlways()),
+                    Map.entry("sequence", Objects.toString(column.sequence(), ""))
+            );
+            colsByName.put(dbColName.toLowerCase(), col);
+            fullTypes.put(dbColName.toLowerCase(), fullType);
+
+            if (table.isPrimaryKey(dbColName)) pkCols.add(col);
+            else cols.add(col);
+        }
+
+        // Prepare context for Handlebars templates
+        Map<String, Object> context = new HashMap<>();
+        context.put("packageName", packageName);
+        context.put("recordPackageName", recordPackage);
+        context.put("className", javaClassName);
+        context.put("dbTableName", tableName);
+        context.put("hasCustomTableMapping", !tableName.equalsIgnoreCase(javaClassName));
+        context.put("pkColumns", pkCols);
+        context.put("columns", cols);
+        context.put("hasCompositePk", pkCols.size() > 1);
+        context.put("imports", imports);
+        String sqlTable = dialect.identifier(tableName);
+        // Rows can't be matched on a key whose values are only known to the database
+        String upsertSql = generatedKeyColumn? null : dialect.upsert(sqlTable, sqlInsertColumns, sqlKeyColumns);
+        String selectSql = "SELECT " + String.join(", ", sqlColumns) + " FROM " + sqlTable;
+        List<Map<String, Object>> finders = finders(table, colsByName, selectSql);
+        context.put("selectSql", javaString(selectSql));
+        context.put("insertSql", javaString(dialect.insert(sqlTable, sqlInsertColumns)));
+        if (upsertSql != null) context.put("upsertSql", javaString(upsertSql));
+        context.put("hasJsonColumns", getterTypes.contains(JSON_CLASS));
+        context.put("hasInstantColumns", getterTypes.contains(INSTANT_CLASS));
+        context.put("indexes", indexes(table));
+        context.put("foreignKeys", foreignKeys(table, mappings));
+        context.put("finders", finders);
+        context.put("hasFinders", !finders.isEmpty());
+        context.put("hasJsonFinders", finders.stream().anyMatch(f -> finderParameter(f, JSON_CLASS)));
+        context.put("jsonAsBytes", dialect.bindsJsonAsBytes());
+        context.put("hasInstantFinders", finders.stream().anyMatch(f -> finderParameter(f, INSTANT_CLASS)));
+        if (generatedKey != null) {
+            context.put("generatedKey", colsByName.get(generatedKey.name().toLowerCase()));
+            if (generatedKey.sequence() != null) context.put("keySequence", javaString(generatedKey.sequence()));
+        }
+
+        long start = System.nanoTime();
+        List<RenderedFile> files = new ArrayList<>(compiledTemplates.size());
+        for (int i = 0; i < compiledTemplates.size(); i++) {
+            Map<String, Object> templateContext = new HashMap<>(context);
+            templateContext.put("packageName", packageNames.get(i));
+
+            ByteArrayOutputStream content = new ByteArrayOutputStream(1024 + 128 * table.columns().size());
+            try (Writer writer = new OutputStreamWriter(content, StandardCharsets.UTF_8)) {
+                compiledTemplates.get(i).body().apply(templateContext, writer);
+            }
+            files.add(new RenderedFile(outFiles.get(i), content.toByteArray()));
+        }
+        for (Map.Entry<String, ColumnInfo> enumType : enumTypes.entrySet()) {
+            Path enumFile = enumFiles.get(enumType.getKey());
+            if (!renderedEnums.add(enumFile.toString())) continue;
+            String typeName = enumType.getValue().typeName();
+            if (!enumType.getKey().equals(mappings.getMappedTypeName(typeName))) {
+                log.warn("Enum type {} generated as {}: a table file has the same name", typeName, enumType.getKey());
             }
+            Map<String, Object> enumContext = enumContext(enumType.getKey(), enumType.getValue(), recordPackage);
+            files.add(new RenderedFile(enumFile, enumTemplate.apply(enumContext).getBytes(StandardCharsets.UTF_8)));
+        }
+        for (int i = 0; i < projections.size(); i++) {
+            Map<String, Object> projectionContext = projectionContext(projections.get(i), table, recordPackage, colsByName, fullTypes);
+            files.add(new RenderedFile(projectionFiles.get(i), projectionTemplate.apply(projectionContext).getBytes(StandardCharsets.UTF_8)));
         }
+        if (idAllocatorFile != null) {
+            Map<String, Object> idAllocatorContext = idAllocatorContext(javaClassName, recordPackage, generatedKey);
+            files.add(new RenderedFile(idAllocatorFile, idAllocatorTemplate.apply(idAllocatorContext).getBytes(StandardCharsets.UTF_8)));
+        }
+        if (lobsFile != null) {
+            Map<String, Object> lobsContext = lobsContext(mappings, javaClassName, recordPackage, table, streamed, pkCols);
+            files.add(new RenderedFile(lobsFile, lobsTemplate.apply(lobsContext).getBytes(StandardCharsets.UTF_8)));
+        }
+        metrics.addTime(GenerationMetrics.Phase.RENDERING, System.nanoTime() - start);
 
-        // Prepare context for Handlebars template
-        Map<String, Object> context = Map.of(
+        return new RenderedTable(tableKey, fingerprint, files);
+    }
+
+    /**
+     * Returns the naming values of the output file names and package names of a table.
+     * @param packageName Base package name
+     * @param javaClassName Java class name of the table record
+     * @param tableName Table name
+     * @param schema Database schema (may be null)
+     * @return Naming values
+     */
+    private static Map<String, Object> naming(String packageName, String javaClassName, String tableName, String schema) {
+        return Map.of(
                 "packageName", packageName,
                 "className", javaClassName,
                 "dbTableName", tableName,
-                "hasCustomTableMapping", !tableName.equalsIgnoreCase(javaClassName),
-                "pkColumns", pkCols,
-                "columns", cols,
-                "hasCompositePk", pkCols.size() > 1,
-                "imports", imports
+                "schema", Objects.toString(schema, "")
         );
+    }
+
+    /**
+     * Records the relative paths of the files generated for a table, before any Java enum name is chosen.
+     * @param target Generation target of the table schema
+     * @param schema Database schema of the table (may be null)
+     * @param tableName Table name
+     * @throws IOException If the file name or package name rendering fails.
+     */
+    private void reserveTableOutputs(Target target, String schema, String tableName) throws IOException {
+        GeneratorMappings mappings = target.mappings();
+        String javaClassName = mappings.getMappedTableName(tableName);
+        Map<String, Object> naming = naming(target.packageName(), javaClassName, tableName, schema);
+        String recordPackage = target.packageName();
+        for (CompiledTemplate t : compiledTemplates) {
+            String filePackage = t.packageName().apply(naming).trim();
+            tableOutputs.add(relativePath(filePackage, t.fileName().apply(naming).trim()));
+            if (TPL_TABLE_RECORD.equals(t.name())) recordPackage = filePackage;
+        }
+        for (GeneratorMappings.ProjectionConfig projection : mappings.getProjectionsForTable(tableName)) {
+            tableOutputs.add(relativePath(recordPackage, projection.getName() + ".java"));
+        }
+        if (generateIdAllocators) tableOutputs.add(relativePath(recordPackage, javaClassName + "IdAllocator.java"));
+        if (defaultLobStrategy == LobStrategy.STREAM || !mappings.getMappings().getLobsForTable(tableName).isEmpty()) {
+            tableOutputs.add(relativePath(recordPackage, javaClassName + "Lobs.java"));
+        }
+    }
 
-        Path outDir = outputPath.resolve(packageName.replace(".", "/"));
-        Files.createDirectories(outDir);
-        Files.writeString(outDir.resolve(javaClassName + ".java"), template.apply(context));
+    /**
+     * Returns the name of the Java enum of a database enum type, suffixed with {@code Enum}
+     * as long as a file generated for a table has the same name in the records package.
+     * @param mappings Generator mappings of the schema
+     * @param recordPackage Package name of the records
+     * @param typeName Database type name
+     * @return Java enum name
+     */
+    private String enumName(GeneratorMappings mappings, String recordPackage, String typeName) {
+        String enumName = mappings.getMappedTypeName(typeName);
+        while (tableOutputs.contains(relativePath(recordPackage, enumName + ".java"))) enumName += "Enum";
+        return enumName;
+    }
+
+    /**
+     * Returns whether a column is mapped to a generated Java enum.
+     * @param column Column metadata
+     * @return True if enum mapping is enabled and the column has a database enum type
+     */
+    private boolean isEnum(ColumnInfo column) {
+        return useEnumTypes && column.isEnum();
+    }
+
+    /**
+     * Returns the template context of the ID allocator of a table.
+     * @param javaClassName Java class name of the table record
+     * @param packageName Package name of the records
+     * @param generatedKey Primary key column generated by a sequence
+     * @return Template context
+     */
+    private Map<String, Object> idAllocatorContext(String javaClassName, String packageName, ColumnInfo generatedKey) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("packageName", packageName);
+        context.put("className", javaClassName);
+        context.put("keyColumn", generatedKey.name());
+        context.put("keySequence", generatedKey.sequence());
+        context.put("nextValueSql", javaString(dialect.nextValue(generatedKey.sequence())));
+        String nextValuesSql = dialect.nextValues(generatedKey.sequence());
+        if (nextValuesSql != null) context.put("nextValuesSql", javaString(nextValuesSql));
+        context.put("pooled", idAllocationStrategy == IdAllocation.POOLED);
+        context.put("poolSize", idAllocationSize);
+        return context;
+    }
+
+    /**
+     * Returns the template context of a projection record, with the same names and types as the table record
+     * and the columns read by index in the projection order.
+     * @param projection Projection configuration
+     * @param table Table metadata
+     * @param packageName Package name of the records
+     * @param colsByName Template columns of the table record by lower-cased database name
+     * @param fullTypes Fully qualified Java types of the columns by lower-cased database name
+     * @return Template context
+     * @throws IllegalArgumentException If a projected column doesn't exist in the table or is a streamed large object.
+     */
+    private Map<String, Object> projectionContext(GeneratorMappings.ProjectionConfig projection, TableInfo table, String packageName,
+                                                  Map<String, Map<String, Object>> colsByName, Map<String, String> fullTypes) {
+        List<Map<String, Object>> cols = new ArrayList<>(projection.getColumns().size());
+        List<String> sqlColumns = new ArrayList<>(projection.getColumns().size());
+        Set<String> imports = new TreeSet<>();
+        Set<String> getterTypes = new HashSet<>();
+
+        int index = 0;
+        for (String column : projection.getColumns()) {
+            Map<String, Object> col = colsByName.get(column.toLowerCase());
+            if (col == null) throw new IllegalArgumentException("Unknown or streamed column " + column + " in projection " + projection.getName() + " of table " + table.name());
+            String fullType = fullTypes.get(column.toLowerCase());
+            if (fullType.contains(".") && !fullType.startsWith("java.lang.") && !(Boolean) col.get("isEnum")) imports.add(fullType);
+            getterTypes.add(fullType);
+            sqlColumns.add(dialect.identifier((String) col.get("dbName")));
+            cols.add(Map.of(
+                    "javaName", col.get("javaName"),
+                    "dbName", col.get("dbName"),
+                    "type", col.get("type"),
+                    "nullable", col.get("nullable"),
+                    "index", ++index,
+                    "getter", resultSetGetter(fullType, (Boolean) col.get("isEnum"), index)
+            ));
+        }
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("packageName", packageName);
+        context.put("className", projection.getName());
+        context.put("dbTableName", table.name());
+        context.put("columns", cols);
+        context.put("imports", imports);
+        context.put("selectSql", javaString("SELECT " + String.join(", ", sqlColumns) + " FROM " + dialect.identifier(table.name())));
+        context.put("hasJsonColumns", getterTypes.contains(JSON_CLASS));
+        context.put("hasInstantColumns", getterTypes.contains(INSTANT_CLASS));
+        return context;
+    }
+
+    /**
+     * Returns the template context of the Java enum of a database enum type.
+     * @param enumName Java enum name
+     * @param column Column of the enum type
+     * @param packageName Package name of the records
+     * @return Template context
+     */
+    private static Map<String, Object> enumContext(String enumName, ColumnInfo column, String packageName) {
+        List<Map<String, Object>> values = new ArrayList<>(column.enumValues().size());
+        Set<String> constants = new HashSet<>();
+        for (String value : column.enumValues()) {
+            String constant = value.replaceAll("[^A-Za-z0-9]+", "_").toUpperCase(Locale.ROOT);
+            if (constant.isEmpty() || Character.isDigit(constant.charAt(0))) constant = "_" + constant;
+            String unique = constant;
+            for (int i = 2; !constants.add(unique); i++) unique = constant + "_" + i;
+            values.add(Map.of("constant", unique, "dbValue", javaString(value)));
+        }
+
+        return Map.of(
+                "packageName", packageName,
+                "className", enumName,
+                "dbTypeName", column.typeName(),
+                "values", values
+        );
+    }
+
+    /**
+     * Returns the indexes of a table for the template context.
+     * @param table Table metadata
+     * @return Indexes, each with its name, unique flag and column names
+     */
+    private static List<Map<String, Object>> indexes(TableInfo table) {
+        List<Map<String, Object>> indexes = new ArrayList<>(table.indexes().size());
+        for (IndexInfo index : table.indexes()) {
+            indexes.add(Map.of("name", index.name(), "unique", index.unique(), "columns", index.columns()));
+        }
+        return indexes;
+    }
+
+    /**
+     * Returns the foreign keys of a table for the template context, with the class name mapped to the referenced table.
+     * @param table Table metadata
+     * @param mappings Generator mappings of the table schema
+     * @return Foreign keys
+     */
+    private static List<Map<String, Object>> foreignKeys(TableInfo table, GeneratorMappings mappings) {
+        List<Map<String, Object>> foreignKeys = new ArrayList<>(table.foreignKeys().size());
+        for (ForeignKeyInfo foreignKey : table.foreignKeys()) {
+            Map<String, Object> fk = new HashMap<>();
+            fk.put("name", foreignKey.name());
+            fk.put("columns", foreignKey.columns());
+            fk.put("referencedSchema", foreignKey.referencedSchema());
+            fk.put("referencedTable", foreignKey.referencedTable());
+            fk.put("referencedClassName", mappings.getMappedTableName(foreignKey.referencedTable()));
+            fk.put("referencedColumns", foreignKey.referencedColumns());
+            foreignKeys.add(fk);
+        }
+        return foreignKeys;
+    }
+
+    /**
+     * Returns the lookups backed by the indexes of a table: one for each leading column combination of every index,
+     * following the index column order, unique when it covers all the columns of a unique index.
+     * Indexes on expressions or on columns not found in the table are skipped.
+     * @param table Table metadata
+     * @param colsByName Template columns by lower-cased database name
+     * @param selectSql Statement selecting the table columns in the row mapper order
+     * @return Finders, each with its constant name, method name, SQL, parameters and unique flag
+     */
+    private List<Map<String, Object>> finders(TableInfo table, Map<String, Map<String, Object>> colsByName, String selectSql) {
+        Map<String, ColumnInfo> columnsByName = new HashMap<>();
+        for (ColumnInfo column : table.columns()) columnsByName.put(column.name().toLowerCase(), column);
+        Map<List<String>, Boolean> lookups = new LinkedHashMap<>();
+        for (IndexInfo index : table.indexes()) {
+            List<String> columns = new ArrayList<>(index.columns().size());
+            for (String column : index.columns()) columns.add(column.toLowerCase());
+            if (!colsByName.keySet().containsAll(columns)) continue;
+            for (int i = 1; i <= columns.size(); i++) lookups.merge(List.copyOf(columns.subList(0, i)), index.unique() && i == columns.size(), Boolean::logicalOr);
+        }
+
+        List<Map<String, Object>> finders = new ArrayList<>(lookups.size());
+        lookups.forEach((columns, unique) -> {
+            StringJoiner constant = new StringJoiner("_AND_", "FIND_BY_", "");
+            StringJoiner method = new StringJoiner("And", "findBy", "");
+            StringJoiner where = new StringJoiner(" AND ", " WHERE ", "");
+            StringJoiner args = new StringJoiner(", ");
+            List<Map<String, Object>> params = new ArrayList<>(columns.size());
+            for (String column : columns) {
+                Map<String, Object> col = colsByName.get(column);
+                String dbName = (String) col.get("dbName");
+                String javaName = (String) col.get("javaName");
+                constant.add(dbName.replaceAll("[^A-Za-z0-9]+", "_").toUpperCase(Locale.ROOT));
+                method.add(Character.toUpperCase(javaName.charAt(0)) + javaName.substring(1));
+                where.add(dialect.identifier(dbName) + " = ?");
+                args.add(finderArgument(col, columnsByName.get(column).dataType()));
+                params.add(Map.of("type", col.get("qualifiedType"), "javaName", javaName));
+            }
+            finders.add(Map.of(
+                    "constant", constant.toString(),
+                    "method", method.toString(),
+                    "sql", javaString(selectSql + where),
+                    "params", params,
+                    "args", args.toString(),
+                    "unique", unique
+            ));
+        });
+        return finders;
+    }
+
+    /**
+     * Checks whether a finder has a parameter of the given type.
+     * @param finder Finder of the template context
+     * @param type Qualified Java type
+     * @return true if a parameter has the type
+     */
+    @SuppressWarnings("unchecked")
+    private static boolean finderParameter(Map<String, Object> finder, String type) {
+        return ((List<Map<String, Object>>) finder.get("params")).stream().anyMatch(p -> type.equals(p.get("type")));
+    }
+
+    /**
+     * Returns the expression passing a finder parameter to the query, converted the same way as in the batch writers.
+     * @param col Template column of the parameter
+     * @param dataType JDBC type code of the column
+     * @return Java expression
+     */
+    private String finderArgument(Map<String, Object> col, int dataType) {
+        String javaName = (String) col.get("javaName");
+        // Enum values are bound with an unspecified type, converted by the database
+        if ((Boolean) col.get("isEnum")) {
+            return "new org.springframework.jdbc.core.SqlParameterValue(" + sqlTypeConstant(Types.OTHER) + ", " + col.get("qualifiedType") + ".toDbValue(" + javaName + "))";
+        }
+        // Helpers generated in the row mapper: drivers can't infer the SQL type of these values
+        return switch ((String) col.get("qualifiedType")) {
+            case JSON_CLASS -> dialect.bindsJsonAsBytes()? "writeJsonBytes(" + javaName + ")"
+                    : "new org.springframework.jdbc.core.SqlParameterValue(" + sqlTypeConstant(dataType) + ", writeJson(" + javaName + "))";
+            case INSTANT_CLASS -> "toTimestamp(" + javaName + ")";
+            default -> javaName;
+        };
+    }
+
+    /**
+     * Writes the content to the file only when it differs from the current one,
+     * so that unchanged files keep their modification time.
+     * @param file Output file
+     * @param bytes File content
+     * @return true if the file has been written
+     * @throws IOException If the file cannot be read or written.
+     */
+    private boolean writeIfChanged(Path file, byte[] bytes) throws IOException {
+        long start = System.nanoTime();
+        try {
+            if (Files.exists(file) && Files.size(file) == bytes.length && Arrays.equals(Files.readAllBytes(file), bytes)) {
+                metrics.add(GenerationMetrics.Counter.FILES_UNCHANGED, 1);
+                return false;
+            }
+
+            Files.createDirectories(file.getParent());
+            Files.write(file, bytes);
+            metrics.add(GenerationMetrics.Counter.FILES_WRITTEN, 1);
+            metrics.add(GenerationMetrics.Counter.BYTES_WRITTEN, bytes.length);
+            return true;
+        } finally {
+            metrics.addTime(GenerationMetrics.Phase.WRITING, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Computes the fingerprint of a table: its metadata, its custom mappings, its package, the shared generator settings
+     * and the names resolved against the other tables of the schema.
+     * @param target Generation target of the table schema
+     * @param table Table metadata
+     * @param javaClassName Mapped Java class name
+     * @param enumNames Resolved names of the Java enums of the table columns, which depend on the names of the other tables
+     * @return Hex encoded fingerprint
+     */
+    private String fingerprint(Target target, TableInfo table, String javaClassName, Collection<String> enumNames) {
+        Fingerprint fp = new Fingerprint().add(configFingerprint).add(target.packageName()).add(table.name()).add(javaClassName);
+        fp.add(enumNames.size());
+        for (String enumName : enumNames) fp.add(enumName);
+
+        Map<String, String> columnMappings = new TreeMap<>(target.mappings().getMappings().getColumnsForTable(table.name()));
+        fp.add(columnMappings.size());
+        columnMappings.forEach((dbName, javaName) -> fp.add(dbName).add(javaName));
+        Map<String, String> lobMappings = new TreeMap<>(target.mappings().getMappings().getLobsForTable(table.name()));
+        fp.add(lobMappings.size());
+        lobMappings.forEach((dbName, strategy) -> fp.add(dbName).add(strategy));
+        fp.add(target.mappings().getRules().getTables().toString()).add(target.mappings().getRules().getColumns().toString());
+        for (GeneratorMappings.ProjectionConfig projection : target.mappings().getProjectionsForTable(table.name())) {
+            fp.add(projection.getName()).add(projection.getColumns().toString());
+        }
+
+        fp.add(table.columns().size());
+        // The record string form covers every metadata attribute of the column
+        for (ColumnInfo column : table.columns()) fp.add(column.toString()).add(table.isPrimaryKey(column.name()));
+        fp.add(table.indexes().toString()).add(table.foreignKeys().toString());
+        for (ForeignKeyInfo foreignKey : table.foreignKeys()) fp.add(target.mappings().getMappedTableName(foreignKey.referencedTable()));
+        return fp.toHex();
+    }
+
+    /**
+     * Returns the expression reading a column by index from a {@code ResultSet} named {@code rs},
+     * as used by the generated row mappers.
+     * @param fullType Fully qualified Java type of the column
+     * @param isEnum Whether the column is of a database enum type, mapped to a generated Java enum
+     * @param index Column index (1-based)
+     * @return Java expression
+     */
+    private static String resultSetGetter(String fullType, boolean isEnum, int index) {
+        if (isEnum) return fullType + ".fromDbValue(rs.getString(" + index + "))";
+        return switch (fullType) {
+            case "java.lang.String" -> "rs.getString(" + index + ")";
+            case "int" -> "rs.getInt(" + index + ")";
+            case "long" -> "rs.getLong(" + index + ")";
+            case "double" -> "rs.getDouble(" + index + ")";
+            case "boolean" -> "rs.getBoolean(" + index + ")";
+            case "java.math.BigDecimal" -> "rs.getBigDecimal(" + index + ")";
+            case "byte[]" -> "rs.getBytes(" + index + ")";
+            case "java.lang.Object" -> "rs.getObject(" + index + ")";
+            // Helpers generated in the row mapper: not every driver supports these types in getObject
+            case JSON_CLASS -> "readJson(rs.getString(" + index + "))";
+            case INSTANT_CLASS -> "toInstant(rs.getTimestamp(" + index + "))";
+            default -> "rs.getObject(" + index + ", " + fullType.replace("java.lang.", "") + ".class)";
+        };
+    }
+
+    /**
+     * Returns the statement binding a record component by index to a {@code PreparedStatement} named {@code ps},
+     * as used by the generated batch writers.
+     * @param fullType Fully qualified Java type of the column
+     * @param isEnum Whether the column is of a database enum type, mapped to a generated Java enum
+     * @param dataType JDBC type code of the column
+     * @param index Parameter index (1-based)
+     * @param accessor Expression reading the component from the record
+     * @return Java statement, without the final semicolon
+     */
+    private String statementSetter(String fullType, boolean isEnum, int dataType, int index, String accessor) {
+        // Database enum types only accept values of unspecified type, converted by the database
+        if (isEnum) return "ps.setObject(" + index + ", " + fullType + ".toDbValue(" + accessor + "), " + sqlTypeConstant(Types.OTHER) + ")";
+        // Database specific types mapped to String (e.g. Postgres enums) must be bound with their JDBC type
+        if (dataType == Types.OTHER && !fullType.equals(JSON_CLASS)) return "ps.setObject(" + index + ", " + accessor + ", " + sqlTypeConstant(dataType) + ")";
+        return switch (fullType) {
+            case "java.lang.String" -> "ps.setString(" + index + ", " + accessor + ")";
+            case "int" -> "ps.setInt(" + index + ", " + accessor + ")";
+            case "long" -> "ps.setLong(" + index + ", " + accessor + ")";
+            case "double" -> "ps.setDouble(" + index + ", " + accessor + ")";
+            case "boolean" -> "ps.setBoolean(" + index + ", " + accessor + ")";
+            case "java.math.BigDecimal" -> "ps.setBigDecimal(" + index + ", " + accessor + ")";
+            case "byte[]" -> "ps.setBytes(" + index + ", " + accessor + ")";
+            case "java.lang.Object" -> "ps.setObject(" + index + ", " + accessor + ")";
+            // Helpers generated in the batch writer, mirroring the ones of the row mapper
+            case JSON_CLASS -> dialect.bindsJsonAsBytes()? "ps.setBytes(" + index + ", writeJsonBytes(" + accessor + "))"
+                    : "ps.setObject(" + index + ", writeJson(" + accessor + "), " + sqlTypeConstant(dataType) + ")";
+            case INSTANT_CLASS -> "ps.setTimestamp(" + index + ", toTimestamp(" + accessor + "))";
+            // Boxed types: the JDBC type lets the driver bind null values
+            default -> "ps.setObject(" + index + ", " + accessor + ", " + sqlTypeConstant(dataType) + ")";
+        };
+    }
+
+    /**
+     * Returns the Java expression of a JDBC type code.
+     * @param dataType JDBC type code
+     * @return {@code java.sql.Types} constant, or the numeric code for vendor specific types
+     */
+    private static String sqlTypeConstant(int dataType) {
+        try {
+            return "java.sql.Types." + JDBCType.valueOf(dataType).getName();
+        } catch (IllegalArgumentException e) {
+            return Integer.toString(dataType);
+        }
+    }
+
+    /**
+     * Escapes a string for a Java string literal.
+     * @param s String to escape
+     * @return Escaped string, without the enclosing quotes
+     */
+    private static String javaString(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
     }
 
     /**
@@ -200,7 +1361,7 @@ public class GeneratorMojo extends AbstractMojo {
      * @param scale Field scale
      * @return Fully qualified Java class name as a String
      */
-    private String mapSqlType(int type, String typeName, int precision, int scale) {
+    String mapSqlType(int type, String typeName, int precision, int scale) {
         String name = (typeName == null) ? "" : typeName.toLowerCase();
 
         return switch (type) {
@@ -211,7 +1372,7 @@ public class GeneratorMojo extends AbstractMojo {
                     ((precision > 0 && precision < 10)? "java.lang.Integer" : "java.lang.Long") : "java.math.BigDecimal";
 
             case Types.FLOAT, Types.REAL, Types.DOUBLE -> "java.lang.Double";
-            case Types.VARCHAR, Types.CHAR, Types.LONGVARCHAR, Types.CLOB, Types.NVARCHAR, Types.NCHAR -> "java.lang.String";
+            case Types.VARCHAR, Types.CHAR, Types.LONGVARCHAR, Types.CLOB, Types.NVARCHAR, Types.NCHAR, Types.NCLOB -> "java.lang.String";
             case Types.BOOLEAN, Types.BIT -> "java.lang.Boolean";
 
             // DATE AND TIME: SQL Server (-155) and Postgres support
@@ -223,14 +1384,14 @@ public class GeneratorMojo extends AbstractMojo {
 
             // SPECIAL TYPES (Postgres "OTHER", Oracle "RAW", etc.)
             case Types.OTHER, Types.ROWID -> switch (name) {
-                case "jsonb", "json" -> "com.fasterxml.jackson.databind.JsonNode";
+                case "jsonb", "json" -> JSON_CLASS;
                 case "uuid" -> "java.util.UUID";
                 default -> "java.lang.String";
             };
 
             // FALLBACK
             default -> {
-                if (name.contains("json")) yield "com.fasterxml.jackson.databind.JsonNode";
+                if (name.contains("json")) yield JSON_CLASS;
                 log.warn("Unsupported SQL type: {} (name: {}), falling back to Object", type, name);
                 yield "java.lang.Object";
             }
@@ -238,67 +1399,269 @@ public class GeneratorMojo extends AbstractMojo {
     }
 
     /**
-     * Loads the generator mappings from a YAML file.
-     * @param path Path to the mappings file.
-     * @return GeneratorMappings instance.
-     * @throws MojoExecutionException If the file doesn't exist or parsing fails.
+     * Returns whether a column holds large objects: the LOB and LONG types, and the PostgreSQL {@code bytea} and {@code text}
+     * types, reported as {@code BINARY} and {@code VARCHAR}.
+     * @param column Column metadata
+     * @return true if the column can be streamed
      */
-    private GeneratorMappings loadMappings(Path path) throws MojoExecutionException {
-        if (path == null) {
-            log.info("No mappings file specified. Falling back to default values.");
-            return new GeneratorMappings();
+    private static boolean isLob(ColumnInfo column) {
+        return switch (column.dataType()) {
+            case Types.BLOB, Types.CLOB, Types.NCLOB, Types.LONGVARBINARY, Types.LONGVARCHAR, Types.LONGNVARCHAR -> true;
+            default -> "bytea".equals(column.typeName()) || "text".equals(column.typeName());
+        };
+    }
+
+    /**
+     * Returns the template context of the class streaming the large objects of a table.
+     * @param mappings Generator mappings of the table schema
+     * @param javaClassName Java class name of the table record
+     * @param packageName Package name of the records
+     * @param table Table metadata
+     * @param streamed Streamed large object columns
+     * @param pkCols Template columns of the primary key
+     * @return Template context
+     */
+    private Map<String, Object> lobsContext(GeneratorMappings mappings, String javaClassName, String packageName, TableInfo table,
+                                            List<ColumnInfo> streamed, List<Map<String, Object>> pkCols) {
+        Map<String, ColumnInfo> columnsByName = new HashMap<>();
+        for (ColumnInfo column : table.columns()) columnsByName.put(column.name().toLowerCase(), column);
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "");
+        StringJoiner keyArgs = new StringJoiner(", ");
+        List<Map<String, Object>> keys = new ArrayList<>(pkCols.size());
+        for (Map<String, Object> col : pkCols) {
+            String dbName = (String) col.get("dbName");
+            String arg = finderArgument(col, columnsByName.get(dbName.toLowerCase()).dataType());
+            where.add(dialect.identifier(dbName) + " = ?");
+            keyArgs.add(arg);
+            // The content is the first parameter of the updates
+            keys.add(Map.of("javaName", col.get("javaName"), "type", col.get("qualifiedType"), "arg", arg, "index", keys.size() + 2));
         }
-        else {
-            if (!Files.exists(path)) throw new MojoExecutionException("Mappings path not exists: " + path);
-            log.info("Using mappings file: {}", path);
-            try (InputStream is = Files.newInputStream(path)) {
-                Yaml yaml = new Yaml(new Constructor(GeneratorMappings.class, new LoaderOptions()));
-                return yaml.load(is);
-            } catch (Exception e) {
-                throw new MojoExecutionException("Failed while parsing mappings file: ", e);
-            }
+
+        String sqlTable = dialect.identifier(table.name());
+        List<Map<String, Object>> lobs = new ArrayList<>(streamed.size());
+        for (ColumnInfo column : streamed) {
+            String dbName = column.name();
+            String javaName = mappings.getMappedColumnName(table.name(), dbName).getLeft();
+            boolean binary = column.dataType() == Types.BLOB || column.dataType() == Types.LONGVARBINARY || column.dataType() == Types.BINARY;
+            boolean national = column.dataType() == Types.NCLOB || column.dataType() == Types.LONGNVARCHAR;
+            String sqlColumn = dialect.identifier(dbName);
+            lobs.add(Map.of(
+                    "constant", dbName.replaceAll("[^A-Za-z0-9]+", "_").toUpperCase(Locale.ROOT),
+                    "method", Character.toUpperCase(javaName.charAt(0)) + javaName.substring(1),
+                    "selectSql", javaString("SELECT " + sqlColumn + " FROM " + sqlTable + where),
+                    "updateSql", javaString("UPDATE " + sqlTable + " SET " + sqlColumn + " = ?" + where),
+                    "streamType", binary? "InputStream" : "Reader",
+                    "getter", binary? "getBinaryStream" : national? "getNCharacterStream" : "getCharacterStream",
+                    "setter", binary? "setBinaryStream" : national? "setNCharacterStream" : "setCharacterStream",
+                    "sqlType", sqlTypeConstant(column.dataType())
+            ));
+        }
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("packageName", packageName);
+        context.put("className", javaClassName);
+        context.put("dbTableName", table.name());
+        context.put("keys", keys);
+        context.put("keyArgs", keyArgs.toString());
+        context.put("lobs", lobs);
+        context.put("hasBinaryLobs", lobs.stream().anyMatch(l -> "InputStream".equals(l.get("streamType"))));
+        context.put("hasCharacterLobs", lobs.stream().anyMatch(l -> "Reader".equals(l.get("streamType"))));
+        context.put("hasInstantKeys", pkCols.stream().anyMatch(c -> INSTANT_CLASS.equals(c.get("qualifiedType"))));
+        return context;
+    }
+
+    /**
+     * Loads the fingerprints of the previous generation.
+     * @param path Path to the fingerprints file.
+     * @return FingerprintStore instance.
+     * @throws MojoExecutionException If the file cannot be read.
+     */
+    private FingerprintStore loadFingerprints(Path path) throws MojoExecutionException {
+        try {
+            return FingerprintStore.load(path);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to load fingerprints file: " + path, e);
+        }
+    }
+
+    /**
+     * Loads the list of files produced by the previous generation.
+     * @param path Path to the manifest file.
+     * @return OutputManifest instance.
+     * @throws MojoExecutionException If the file cannot be read.
+     */
+    private OutputManifest loadManifest(Path path) throws MojoExecutionException {
+        try {
+            return OutputManifest.load(path);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to load manifest file: " + path, e);
         }
     }
 
     /**
-     * Loads the Handlebars template.
+     * Loads and compiles the Handlebars templates configured with the {@code templates} parameter,
+     * or the default record template.
      * @param path Optional path to a folder containing custom templates.
-     * @return Compiled Handlebars Template.
-     * @throws MojoExecutionException If the template cannot be loaded or compiled.
+     * @return Compiled templates.
+     * @throws MojoExecutionException If a template cannot be loaded or compiled.
      */
-    private Template loadTemplate(Path path) throws MojoExecutionException {
-        TemplateLoader loader;
+    private List<CompiledTemplate> loadTemplates(Path path) throws MojoExecutionException {
+        TemplateLoader loader = new ClassPathTemplateLoader("/templates",  HBS_EXTENSION);
         if (path != null) {
             if (!Files.exists(path)) throw new MojoExecutionException("Templates path not exists: " + path);
-            else loader = new FileTemplateLoader(path.toFile(), HBS_EXTENSION);
+            // Custom templates override the built-in ones, which remain available
+            else loader = new CompositeTemplateLoader(new FileTemplateLoader(path.toFile(), HBS_EXTENSION), loader);
             log.info("Using template file from folder: {}", path);
         }
-        else {
-            log.info("No custom templates path specified. Falling back to default values.");
-            loader = new ClassPathTemplateLoader("/templates",  HBS_EXTENSION);
+        else log.info("No custom templates path specified. Falling back to default values.");
+
+        Handlebars handlebars = new Handlebars(loader);
+        List<TemplateConfig> configs = new ArrayList<>((templates == null || templates.isEmpty())? List.of(new TemplateConfig(TPL_TABLE_RECORD)) : templates);
+        if (generateRowMappers && configs.stream().noneMatch(c -> TPL_TABLE_ROW_MAPPER.equals(c.getName()))) {
+            TemplateConfig rowMapper = new TemplateConfig(TPL_TABLE_ROW_MAPPER);
+            rowMapper.setFileName("{{className}}RowMapper.java");
+            configs.add(rowMapper);
         }
+        if (generateBatchWriters && configs.stream().noneMatch(c -> TPL_TABLE_BATCH_WRITER.equals(c.getName()))) {
+            TemplateConfig batchWriter = new TemplateConfig(TPL_TABLE_BATCH_WRITER);
+            batchWriter.setFileName("{{className}}BatchWriter.java");
+            configs.add(batchWriter);
+        }
+        this.projectionTemplate = compileBuiltIn(handlebars, TPL_PROJECTION_RECORD);
+        this.enumTemplate = compileBuiltIn(handlebars, TPL_DB_ENUM);
+        this.idAllocatorTemplate = compileBuiltIn(handlebars, TPL_TABLE_ID_ALLOCATOR);
+        this.lobsTemplate = compileBuiltIn(handlebars, TPL_TABLE_LOBS);
+        List<CompiledTemplate> compiled = new ArrayList<>(configs.size());
+        for (TemplateConfig config : configs) {
+            if (config.getName() == null || config.getName().isBlank()) throw new MojoExecutionException("Missing name of a configured template");
+            try  {
+                compiled.add(new CompiledTemplate(config.getName(), handlebars.compile(config.getName()),
+                        handlebars.compileInline(Objects.requireNonNullElse(config.getFileName(), TemplateConfig.DEFAULT_FILE_NAME)),
+                        handlebars.compileInline(Objects.requireNonNullElse(config.getPackageName(), TemplateConfig.DEFAULT_PACKAGE_NAME))));
+            } catch (Exception e) {
+                throw new MojoExecutionException("Failed to parse template: " + config.getName(), e);
+            }
+        }
+        return compiled;
+    }
 
-        try  {
-            Handlebars handlebars = new Handlebars(loader);
-            return handlebars.compile(TPL_TABLE_RECORD);
+    /**
+     * Compiles a template rendered outside the {@code templates} list.
+     * @param handlebars Handlebars instance
+     * @param name Template name
+     * @return Compiled template
+     * @throws MojoExecutionException If the template cannot be loaded or compiled.
+     */
+    private static Template compileBuiltIn(Handlebars handlebars, String name) throws MojoExecutionException {
+        try {
+            return handlebars.compile(name);
         } catch (Exception e) {
-            throw new MojoExecutionException("Failed to parse record template: " + TPL_TABLE_RECORD, e);
+            throw new MojoExecutionException("Failed to parse template: " + name, e);
         }
     }
 
     /**
-     * Loads database configuration properties from a file.
-     * @param path Path to the .env or properties file.
-     * @return Loaded Properties.
-     * @throws MojoExecutionException If the file cannot be read.
+     * Returns the path of a generated file relative to the output directory.
+     * @param packageName Package name of the file (empty for the default package)
+     * @param fileName File name
+     * @return Relative path
      */
-    private Properties loadEnv(Path path) throws MojoExecutionException {
-        Properties props = new Properties();
-        try (InputStream is = Files.newInputStream(path)) {
-            props.load(is);
-            return props;
-        } catch (IOException e) {
-            throw new MojoExecutionException("Failed to load DB properties file: " + path, e);
+    private static String relativePath(String packageName, String fileName) {
+        return (packageName.isEmpty()? "" : packageName.replace(".", "/") + "/") + fileName;
+    }
+
+    /**
+     * Returns the fully qualified name of a generated class.
+     * @param packageName Package name of the class (empty for the default package)
+     * @param simpleName Simple class name
+     * @return Qualified class name
+     */
+    private static String qualifiedName(String packageName, String simpleName) {
+        return packageName.isEmpty()? simpleName : packageName + "." + simpleName;
+    }
+
+    /**
+     * Returns the key identifying a table in fingerprints, metrics and error reports.
+     * @param schema Database schema (may be null)
+     * @param tableName Table name
+     * @return Qualified table name
+     */
+    private static String tableKey(String schema, String tableName) {
+        return (schema == null)? tableName : schema + "." + tableName;
+    }
+
+    /**
+     * Schema to generate, with the package of its records and its mappings.
+     * @param schema Database schema (null to accept the tables of any schema of a snapshot)
+     * @param packageName Package name of the records
+     * @param mappings Generator mappings
+     */
+    private record Target(String schema, String packageName, GeneratorMappings mappings) {
+    }
+
+    /**
+     * Table to generate, with its metadata when already read by bulk introspection.
+     * @param target Generation target of the table schema
+     * @param tableName Table name
+     * @param table Table metadata, null if it must still be read
+     */
+    private record TableWork(Target target, String tableName, TableInfo table) {
+        /**
+         * Returns the table key.
+         * @return Qualified table name
+         */
+        String key() {
+            return tableKey(target.schema(), tableName);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Table to render, with the generation target of its schema.
+     * @param target Generation target of the table schema
+     * @param table Table metadata
+     */
+    private record TableJob(Target target, TableInfo table) {
+    }
+
+    /**
+     * Compiled template with its output name patterns.
+     * @param name Template name
+     * @param body Template rendered for each table
+     * @param fileName Output file name pattern
+     * @param packageName Package name pattern
+     */
+    private record CompiledTemplate(String name, Template body, Template fileName, Template packageName) {
+    }
+
+    /**
+     * Rendered files of a table to write.
+     * @param tableKey Key of the table
+     * @param fingerprint Table fingerprint, recorded once the files are written
+     * @param files Rendered files, one per template
+     */
+    private record RenderedTable(String tableKey, String fingerprint, List<RenderedFile> files) {
+    }
+
+    /**
+     * Rendered file to write.
+     * @param path Output file
+     * @param content File content
+     */
+    private record RenderedFile(Path path, byte[] content) {
+    }
+
+    /**
+     * Metadata stage of the generation pipeline.
+     * @param <T> Item type
+     */
+    @FunctionalInterface
+    private interface MetadataStage<T> {
+        /**
+         * Returns the metadata of a table.
+         * @param item Item to process
+         * @return Table to render, null to skip the item
+         * @throws Exception If the metadata cannot be read.
+         */
+        TableJob read(T item) throws Exception;
+    }
+}
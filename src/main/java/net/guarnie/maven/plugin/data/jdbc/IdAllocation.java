@@ -0,0 +1,23 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.util.Locale;
+
+/**
+ * Strategies of the generated ID allocators, reading the primary key values of a table from its sequence.
+ */
+public enum IdAllocation {
+    /** Values read from the sequence, all the values of a batch with a single query */
+    SEQUENCE,
+    /** Blocks of values reserved with a single sequence call, the sequence increment being the block size */
+    POOLED;
+
+    /**
+     * Returns the strategy with the given name.
+     * @param name Strategy name, case-insensitive
+     * @return Strategy
+     * @throws IllegalArgumentException If no strategy has the given name.
+     */
+    public static IdAllocation of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
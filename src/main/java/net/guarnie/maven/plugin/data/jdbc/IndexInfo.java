@@ -0,0 +1,12 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.util.List;
+
+/**
+ * Index metadata read from the database during schema introspection.
+ * @param name Index name
+ * @param unique Whether the index values are unique
+ * @param columns Indexed column names, in index order
+ */
+public record IndexInfo(String name, boolean unique, List<String> columns) {
+}
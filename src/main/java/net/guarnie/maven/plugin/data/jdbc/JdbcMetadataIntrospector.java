@@ -0,0 +1,259 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Default {@link SchemaIntrospector}, based on the generic {@link DatabaseMetaData} calls supported by every driver.
+ */
+public class JdbcMetadataIntrospector implements SchemaIntrospector {
+    private static final Logger log = LoggerFactory.getLogger(JdbcMetadataIntrospector.class);
+
+    /**
+     * Column defaults reading the next value of a sequence: PostgreSQL {@code nextval('seq'::regclass)},
+     * SQL standard {@code NEXT VALUE FOR seq} (H2, SQL Server, HSQLDB) and Oracle {@code seq.nextval}.
+     */
+    private static final Pattern SEQUENCE_DEFAULT = Pattern.compile(
+            "\\s*\\(?\\s*(?:nextval\\('(.+?)'(?:::regclass)?\\)|NEXT VALUE FOR\\s+([^\\s()]+)|([^\\s()]+)\\.nextval)\\s*\\)?\\s*",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Identity columns rejecting explicit values, from the SQL standard {@code INFORMATION_SCHEMA} (H2, HSQLDB, PostgreSQL),
+     * as the JDBC metadata doesn't tell them apart from the identity columns generated by default.
+     */
+    private static final String IDENTITY_ALWAYS_QUERY = """
+            SELECT TABLE_NAME, COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS
+            WHERE TABLE_SCHEMA = ? AND IDENTITY_GENERATION = 'ALWAYS'""";
+
+    /**
+     * Default constructor
+     */
+    public JdbcMetadataIntrospector() {
+    }
+
+    @Override
+    public String getName() {
+        return "jdbc";
+    }
+
+    @Override
+    public boolean supports(String jdbcUrl) {
+        return true;
+    }
+
+    /**
+     * Reads the names of the tables of the schema accepted by the mappings filters.
+     * Simple inclusion filters are pushed down to the database as table name patterns,
+     * with one metadata query per pattern.
+     * @param conn Database connection
+     * @param schema Database schema
+     * @param mappings Generator mappings
+     * @return Table names
+     * @throws SQLException If database access fails.
+     */
+    @Override
+    public List<String> readTableNames(Connection conn, String schema, GeneratorMappings mappings) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        Set<String> tableNames = new LinkedHashSet<>();
+        for (String pattern : mappings.getFilters().getTableNamePatterns(meta.getSearchStringEscape())) {
+            log.debug("Reading tables matching: {}", pattern);
+            try (ResultSet rsTables = meta.getTables(null, schema, pattern, new String[]{"TABLE"})) {
+                while (rsTables.next()) {
+                    String tableName = rsTables.getString("TABLE_NAME");
+                    if (mappings.shouldProcessTable(tableName)) tableNames.add(tableName);
+                }
+            }
+        }
+        return new ArrayList<>(tableNames);
+    }
+
+    @Override
+    public TableInfo readTable(Connection conn, String schema, String tableName) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        Set<String> pkNames = new HashSet<>();
+        try (ResultSet rs = meta.getPrimaryKeys(null, schema, tableName)) {
+            while (rs.next()) pkNames.add(rs.getString("COLUMN_NAME").toLowerCase());
+        }
+
+        Map<String, Set<String>> identityAlways = identityAlways(conn, schema);
+        List<ColumnInfo> columns = new ArrayList<>();
+        try (ResultSet rs = meta.getColumns(null, schema, tableName, null)) {
+            while (rs.next()) columns.add(generatedAlways(readColumn(rs), tableName, identityAlways));
+        }
+        return new TableInfo(schema, tableName, columns, pkNames);
+    }
+
+    /**
+     * Reads columns and primary keys of all the given tables with schema-wide metadata queries,
+     * grouping the rows by table in memory.
+     * @param conn Database connection
+     * @param schema Database schema
+     * @param tableNames Names of the tables to read
+     * @return Table metadata by table name
+     * @throws SQLException If database access fails.
+     */
+    @Override
+    public Map<String, TableInfo> readSchema(Connection conn, String schema, List<String> tableNames) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        Map<String, List<ColumnInfo>> columns = new HashMap<>();
+        for (String tableName : tableNames) columns.put(tableName, new ArrayList<>());
+
+        Map<String, Set<String>> identityAlways = identityAlways(conn, schema);
+        try (ResultSet rs = meta.getColumns(null, schema, "%", null)) {
+            while (rs.next()) {
+                String tableName = rs.getString("TABLE_NAME");
+                List<ColumnInfo> tableColumns = columns.get(tableName);
+                if (tableColumns != null) tableColumns.add(generatedAlways(readColumn(rs), tableName, identityAlways));
+            }
+        }
+
+        Map<String, Set<String>> pkNames = new HashMap<>();
+        for (String tableName : tableNames) pkNames.put(tableName, new HashSet<>());
+
+        // An empty result is valid (schema without primary keys): the per-table queries are only needed
+        // when the driver rejects a null table name
+        boolean schemaWide = true;
+        try (ResultSet rs = meta.getPrimaryKeys(null, schema, null)) {
+            while (rs.next()) {
+                Set<String> tablePks = pkNames.get(rs.getString("TABLE_NAME"));
+                if (tablePks != null) tablePks.add(rs.getString("COLUMN_NAME").toLowerCase());
+            }
+        } catch (SQLException e) {
+            log.debug("Schema-wide primary key lookup failed", e);
+            schemaWide = false;
+        }
+
+        if (!schemaWide) {
+            log.info("Schema-wide primary key lookup not supported by the driver, falling back to per-table queries");
+            for (String tableName : tableNames) {
+                try (ResultSet rs = meta.getPrimaryKeys(null, schema, tableName)) {
+                    while (rs.next()) pkNames.get(tableName).add(rs.getString("COLUMN_NAME").toLowerCase());
+                }
+            }
+        }
+
+        Map<String, TableInfo> tables = new HashMap<>();
+        for (String tableName : tableNames)
+            tables.put(tableName, new TableInfo(schema, tableName, columns.get(tableName), pkNames.get(tableName)));
+        return tables;
+    }
+
+    /**
+     * Reads indexes and foreign keys of a table with {@link DatabaseMetaData#getIndexInfo} and {@link DatabaseMetaData#getImportedKeys}.
+     * Index statistics rows and expression columns without a name are skipped.
+     * @param conn Database connection
+     * @param table Table metadata
+     * @return Table metadata with its indexes and foreign keys
+     * @throws SQLException If database access fails.
+     */
+    @Override
+    public TableInfo readIndexes(Connection conn, TableInfo table) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+
+        // Columns by index name, sorted by their position in the index
+        Map<String, SortedMap<Integer, String>> indexColumns = new LinkedHashMap<>();
+        Map<String, Boolean> indexUnique = new HashMap<>();
+        try (ResultSet rs = meta.getIndexInfo(null, table.schema(), table.name(), false, true)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                String columnName = rs.getString("COLUMN_NAME");
+                if (rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic || indexName == null || columnName == null) continue;
+                indexColumns.computeIfAbsent(indexName, k -> new TreeMap<>()).put((int) rs.getShort("ORDINAL_POSITION"), columnName);
+                indexUnique.put(indexName, !rs.getBoolean("NON_UNIQUE"));
+            }
+        }
+        List<IndexInfo> indexes = new ArrayList<>(indexColumns.size());
+        indexColumns.forEach((indexName, columns) -> indexes.add(new IndexInfo(indexName, indexUnique.get(indexName), List.copyOf(columns.values()))));
+
+        // Foreign keys without a name are grouped by referenced table
+        Map<String, SortedMap<Integer, String[]>> keyColumns = new LinkedHashMap<>();
+        Map<String, String[]> keyTargets = new HashMap<>();
+        try (ResultSet rs = meta.getImportedKeys(null, table.schema(), table.name())) {
+            while (rs.next()) {
+                String fkName = rs.getString("FK_NAME");
+                String keyName = Objects.requireNonNullElse(fkName, rs.getString("PKTABLE_NAME"));
+                keyColumns.computeIfAbsent(keyName, k -> new TreeMap<>())
+                        .put((int) rs.getShort("KEY_SEQ"), new String[]{rs.getString("FKCOLUMN_NAME"), rs.getString("PKCOLUMN_NAME")});
+                keyTargets.put(keyName, new String[]{fkName, rs.getString("PKTABLE_SCHEM"), rs.getString("PKTABLE_NAME")});
+            }
+        }
+        List<ForeignKeyInfo> foreignKeys = new ArrayList<>(keyColumns.size());
+        keyColumns.forEach((keyName, columns) -> {
+            List<String> fkColumns = new ArrayList<>(columns.size());
+            List<String> pkColumns = new ArrayList<>(columns.size());
+            for (String[] pair : columns.values()) {
+                fkColumns.add(pair[0]);
+                pkColumns.add(pair[1]);
+            }
+            String[] target = keyTargets.get(keyName);
+            foreignKeys.add(new ForeignKeyInfo(target[0], fkColumns, target[1], target[2], pkColumns));
+        });
+
+        return table.withIndexes(indexes, foreignKeys);
+    }
+
+    /**
+     * Reads the column metadata at the current row of a {@link DatabaseMetaData#getColumns} result set.
+     * Computed columns ({@code IS_GENERATEDCOLUMN}) are generated always.
+     * @param rs Result set positioned on a column row
+     * @return Column metadata
+     * @throws SQLException If database access fails.
+     */
+    protected ColumnInfo readColumn(ResultSet rs) throws SQLException {
+        String sequence = sequenceName(rs.getString("COLUMN_DEF"));
+        return new ColumnInfo(rs.getString("COLUMN_NAME"), rs.getInt("DATA_TYPE"), rs.getString("TYPE_NAME"),
+                rs.getInt("COLUMN_SIZE"), rs.getInt("DECIMAL_DIGITS"), rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls,
+                List.of(), "YES".equalsIgnoreCase(rs.getString("IS_AUTOINCREMENT")) || sequence != null, sequence,
+                "YES".equalsIgnoreCase(rs.getString("IS_GENERATEDCOLUMN")));
+    }
+
+    /**
+     * Reads the identity columns of a schema that reject explicit values.
+     * Databases without the {@code IDENTITY_GENERATION} column report no such column.
+     * @param conn Database connection
+     * @param schema Database schema
+     * @return Column names by table name
+     */
+    private static Map<String, Set<String>> identityAlways(Connection conn, String schema) {
+        Map<String, Set<String>> columns = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(IDENTITY_ALWAYS_QUERY)) {
+            stmt.setString(1, schema);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) columns.computeIfAbsent(rs.getString(1), k -> new HashSet<>()).add(rs.getString(2));
+            }
+        } catch (SQLException e) {
+            log.debug("Identity generation not available in INFORMATION_SCHEMA", e);
+        }
+        return columns;
+    }
+
+    /**
+     * Marks a column as generated always when it's an identity column rejecting explicit values.
+     * @param column Column metadata
+     * @param tableName Table name
+     * @param identityAlways Names of the identity columns rejecting explicit values, by table name
+     * @return Column metadata
+     */
+    private static ColumnInfo generatedAlways(ColumnInfo column, String tableName, Map<String, Set<String>> identityAlways) {
+        if (column.generatedAlways() || !identityAlways.getOrDefault(tableName, Set.of()).contains(column.name())) return column;
+        return new ColumnInfo(column.name(), column.dataType(), column.typeName(), column.precision(), column.scale(),
+                column.nullable(), column.enumValues(), column.autoIncrement(), column.sequence(), true);
+    }
+
+    /**
+     * Returns the sequence read by a column default.
+     * @param columnDef Column default expression (may be null)
+     * @return SQL name of the sequence, null if the default doesn't read a sequence
+     */
+    protected static String sequenceName(String columnDef) {
+        if (columnDef == null) return null;
+        Matcher m = SEQUENCE_DEFAULT.matcher(columnDef);
+        if (!m.matches()) return null;
+        return (m.group(1) != null)? m.group(1) : (m.group(2) != null)? m.group(2) : m.group(3);
+    }
+}
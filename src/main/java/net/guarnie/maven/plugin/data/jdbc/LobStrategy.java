@@ -0,0 +1,24 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.util.Locale;
+
+/**
+ * Mapping of the large object columns ({@code BLOB}, {@code CLOB}, {@code NCLOB}, {@code LONGVARBINARY}, {@code LONGVARCHAR},
+ * PostgreSQL {@code bytea} and {@code text}).
+ */
+public enum LobStrategy {
+    /** Whole value loaded with the row: {@code byte[]} or {@code String} */
+    MATERIALIZE,
+    /** Left out of the record, streamed on demand by primary key: {@link java.io.InputStream} or {@link java.io.Reader} */
+    STREAM;
+
+    /**
+     * Returns the strategy with the given name.
+     * @param name Strategy name, case-insensitive
+     * @return Strategy
+     * @throws IllegalArgumentException If no strategy has the given name.
+     */
+    public static LobStrategy of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
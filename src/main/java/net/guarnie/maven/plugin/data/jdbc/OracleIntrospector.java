@@ -0,0 +1,91 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Oracle {@link SchemaIntrospector} reading columns and primary keys from {@code ALL_TAB_COLS} and
+ * {@code ALL_CONSTRAINTS} in a single query, filtered by owner instead of the name patterns used by the driver.
+ */
+public class OracleIntrospector extends CatalogQueryIntrospector {
+
+    /**
+     * Columns of the tables of a schema, joined with the primary key constraints.
+     */
+    private static final String COLUMNS_QUERY = """
+            SELECT c.TABLE_NAME, c.COLUMN_NAME, c.DATA_TYPE AS TYPE_NAME,
+                   COALESCE(c.DATA_PRECISION, 0) AS COLUMN_SIZE, COALESCE(c.DATA_SCALE, 0) AS DECIMAL_DIGITS,
+                   CASE WHEN c.NULLABLE = 'N' THEN 0 ELSE 1 END AS NULLABLE,
+                   CASE WHEN pk.COLUMN_NAME IS NULL THEN 0 ELSE 1 END AS IS_PK,
+                   CASE WHEN idc.SEQUENCE_NAME IS NULL THEN 0 ELSE 1 END AS IS_AUTOINCREMENT,
+                   CASE WHEN idc.SEQUENCE_NAME IS NOT NULL THEN '"' || idc.OWNER || '"."' || idc.SEQUENCE_NAME || '"' END AS SEQUENCE_NAME,
+                   CASE WHEN idc.GENERATION_TYPE = 'ALWAYS' OR c.VIRTUAL_COLUMN = 'YES' THEN 1 ELSE 0 END AS GENERATED_ALWAYS
+            FROM ALL_TAB_COLS c
+            LEFT JOIN (SELECT cc.OWNER, cc.TABLE_NAME, cc.COLUMN_NAME
+                       FROM ALL_CONSTRAINTS k
+                       JOIN ALL_CONS_COLUMNS cc ON cc.OWNER = k.OWNER AND cc.CONSTRAINT_NAME = k.CONSTRAINT_NAME
+                       WHERE k.CONSTRAINT_TYPE = 'P') pk
+                   ON pk.OWNER = c.OWNER AND pk.TABLE_NAME = c.TABLE_NAME AND pk.COLUMN_NAME = c.COLUMN_NAME
+            LEFT JOIN ALL_TAB_IDENTITY_COLS idc
+                   ON idc.OWNER = c.OWNER AND idc.TABLE_NAME = c.TABLE_NAME AND idc.COLUMN_NAME = c.COLUMN_NAME
+            WHERE c.OWNER = ? AND c.HIDDEN_COLUMN = 'NO'%s
+            ORDER BY c.TABLE_NAME, c.COLUMN_ID""";
+
+    /**
+     * Default constructor
+     */
+    public OracleIntrospector() {
+    }
+
+    @Override
+    public String getName() {
+        return "oracle";
+    }
+
+    @Override
+    public boolean supports(String jdbcUrl) {
+        return jdbcUrl != null && jdbcUrl.startsWith("jdbc:oracle:");
+    }
+
+    @Override
+    protected String columnsQuery(boolean singleTable) {
+        return COLUMNS_QUERY.formatted(singleTable? " AND c.TABLE_NAME = ?" : "");
+    }
+
+    /**
+     * Returns the JDBC type code reported by the Oracle JDBC driver for the column data type.
+     * @param rs Result set positioned on a column row
+     * @return JDBC type code
+     * @throws SQLException If database access fails.
+     */
+    @Override
+    protected int dataType(ResultSet rs) throws SQLException {
+        String type = rs.getString("TYPE_NAME");
+        if (type.startsWith("TIMESTAMP")) {
+            if (type.endsWith("WITH LOCAL TIME ZONE")) return -102;
+            return type.endsWith("WITH TIME ZONE")? -101 : Types.TIMESTAMP;
+        }
+        if (type.startsWith("INTERVAL")) return Types.OTHER;
+        return switch (type) {
+            case "CHAR" -> Types.CHAR;
+            case "VARCHAR2", "VARCHAR" -> Types.VARCHAR;
+            case "NCHAR" -> Types.NCHAR;
+            case "NVARCHAR2" -> Types.NVARCHAR;
+            case "NUMBER" -> Types.DECIMAL;
+            case "FLOAT" -> Types.FLOAT;
+            case "BINARY_FLOAT" -> 100;
+            case "BINARY_DOUBLE" -> 101;
+            case "LONG" -> Types.LONGVARCHAR;
+            case "DATE" -> Types.TIMESTAMP;
+            case "RAW" -> Types.VARBINARY;
+            case "LONG RAW" -> Types.LONGVARBINARY;
+            case "BLOB" -> Types.BLOB;
+            case "CLOB" -> Types.CLOB;
+            case "NCLOB" -> Types.NCLOB;
+            case "ROWID", "UROWID" -> Types.ROWID;
+            case "XMLTYPE" -> Types.SQLXML;
+            default -> Types.OTHER;
+        };
+    }
+}
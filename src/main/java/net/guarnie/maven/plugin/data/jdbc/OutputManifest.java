@@ -0,0 +1,93 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Persistent list of the files produced by the last generation of an execution, relative to the output directory,
+ * used to delete the files of tables that have been dropped or filtered out.
+ * Each execution owns its manifest, and only deletes files it produced and no other execution lists.
+ */
+public class OutputManifest {
+    /**
+     * Path of the manifest file.
+     */
+    private final Path path;
+
+    /**
+     * Files produced by the previous generation.
+     */
+    private final Set<String> previous;
+
+    /**
+     * Files produced by the current generation.
+     */
+    private final Set<String> current = new ConcurrentSkipListSet<>();
+
+    /**
+     * Creates a manifest with the given previous files.
+     * @param path Path of the manifest file
+     * @param previous Files produced by the previous generation
+     */
+    private OutputManifest(Path path, Set<String> previous) {
+        this.path = path;
+        this.previous = previous;
+    }
+
+    /**
+     * Loads the manifest file, if present.
+     * @param path Path of the manifest file
+     * @return Manifest initialized with the previous files (empty if the file doesn't exist)
+     * @throws IOException If the file cannot be read.
+     */
+    public static OutputManifest load(Path path) throws IOException {
+        Set<String> previous = new HashSet<>();
+        if (Files.exists(path)) {
+            for (String line : Files.readAllLines(path)) if (!line.isBlank()) previous.add(line);
+        }
+        return new OutputManifest(path, previous);
+    }
+
+    /**
+     * Records a file produced (or left untouched) by the current generation.
+     * @param relativePath File path relative to the output directory
+     */
+    public void add(String relativePath) {
+        current.add(relativePath);
+    }
+
+    /**
+     * Deletes the files produced by the previous generation and not by the current one,
+     * except the ones listed in the manifest of another execution.
+     * @param outputPath Output directory
+     * @param others Manifest files of the other executions
+     * @return Relative paths of the deleted files
+     * @throws IOException If a manifest cannot be read or a file cannot be deleted.
+     */
+    public List<String> deleteStale(Path outputPath, List<Path> others) throws IOException {
+        Set<String> owned = new TreeSet<>(previous);
+        owned.removeAll(current);
+        for (Path other : others) {
+            if (owned.isEmpty()) break;
+            Files.readAllLines(other).forEach(owned::remove);
+        }
+
+        List<String> deleted = new ArrayList<>();
+        for (String relativePath : owned) {
+            if (Files.deleteIfExists(outputPath.resolve(relativePath))) deleted.add(relativePath);
+        }
+        return deleted;
+    }
+
+    /**
+     * Writes the files of the current generation, replacing the previous ones.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save() throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, current);
+    }
+}
@@ -0,0 +1,106 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PostgreSQL {@link SchemaIntrospector} reading columns and primary keys from {@code pg_catalog} in a single query.
+ * Domains are reported with their base type, as the PostgreSQL JDBC driver does, and the labels of enum types are read
+ * from {@code pg_enum}. Sequences of serial and identity columns are read with {@code pg_get_serial_sequence},
+ * the other ones from the {@code nextval} column defaults.
+ */
+public class PostgresIntrospector extends CatalogQueryIntrospector {
+
+    /**
+     * JDBC type codes of the built-in types, as reported by the PostgreSQL JDBC driver.
+     */
+    private static final Map<String, Integer> TYPES = Map.ofEntries(
+            Map.entry("int2", Types.SMALLINT), Map.entry("int4", Types.INTEGER), Map.entry("oid", Types.BIGINT),
+            Map.entry("int8", Types.BIGINT), Map.entry("money", Types.DOUBLE), Map.entry("numeric", Types.NUMERIC),
+            Map.entry("float4", Types.REAL), Map.entry("float8", Types.DOUBLE), Map.entry("char", Types.CHAR),
+            Map.entry("bpchar", Types.CHAR), Map.entry("varchar", Types.VARCHAR), Map.entry("text", Types.VARCHAR),
+            Map.entry("name", Types.VARCHAR), Map.entry("bytea", Types.BINARY), Map.entry("bool", Types.BIT),
+            Map.entry("bit", Types.BIT), Map.entry("date", Types.DATE), Map.entry("time", Types.TIME),
+            Map.entry("timetz", Types.TIME), Map.entry("timestamp", Types.TIMESTAMP), Map.entry("timestamptz", Types.TIMESTAMP),
+            Map.entry("refcursor", Types.REF_CURSOR), Map.entry("xml", Types.SQLXML));
+
+    /**
+     * Columns of the tables of a schema, with the type modifier decoded into size and decimal digits.
+     */
+    private static final String COLUMNS_QUERY = """
+            SELECT TABLE_NAME, COLUMN_NAME, TYPE_NAME, TYPE_TYPE, TYPE_CATEGORY, NULLABLE, IS_PK, ENUM_VALUES, SEQUENCE_NAME, GENERATED_ALWAYS,
+                   (IS_IDENTITY OR SEQUENCE_NAME IS NOT NULL) AS IS_AUTOINCREMENT,
+                   CASE WHEN TYPE_NAME = 'numeric' AND TYPE_MOD <> -1 THEN ((TYPE_MOD - 4) >> 16) & 65535
+                        WHEN TYPE_NAME IN ('bpchar', 'varchar') AND TYPE_MOD <> -1 THEN TYPE_MOD - 4
+                        ELSE 0 END AS COLUMN_SIZE,
+                   CASE WHEN TYPE_NAME = 'numeric' AND TYPE_MOD <> -1 THEN (TYPE_MOD - 4) & 65535 ELSE 0 END AS DECIMAL_DIGITS
+            FROM (SELECT c.relname AS TABLE_NAME, a.attname AS COLUMN_NAME, a.attnum AS COLUMN_POSITION,
+                         COALESCE(bt.typname, t.typname) AS TYPE_NAME,
+                         COALESCE(bt.typtype, t.typtype) AS TYPE_TYPE,
+                         COALESCE(bt.typcategory, t.typcategory) AS TYPE_CATEGORY,
+                         CASE WHEN t.typtype = 'd' THEN t.typtypmod ELSE a.atttypmod END AS TYPE_MOD,
+                         NOT (a.attnotnull OR (t.typtype = 'd' AND t.typnotnull)) AS NULLABLE,
+                         EXISTS (SELECT 1 FROM pg_catalog.pg_index i
+                                 WHERE i.indrelid = c.oid AND i.indisprimary AND a.attnum = ANY (i.indkey)) AS IS_PK,
+                         CASE WHEN COALESCE(bt.typtype, t.typtype) = 'e' THEN
+                              ARRAY(SELECT e.enumlabel FROM pg_catalog.pg_enum e
+                                    WHERE e.enumtypid = COALESCE(bt.oid, t.oid) ORDER BY e.enumsortorder) END AS ENUM_VALUES,
+                         a.attidentity IN ('a', 'd') AS IS_IDENTITY,
+                         (a.attidentity = 'a' OR a.attgenerated = 's') AS GENERATED_ALWAYS,
+                         COALESCE(pg_catalog.pg_get_serial_sequence(pg_catalog.quote_ident(n.nspname) || '.' || pg_catalog.quote_ident(c.relname), a.attname),
+                                  substring(pg_catalog.pg_get_expr(ad.adbin, ad.adrelid) from '^nextval\\(''(.+)''::regclass\\)$')) AS SEQUENCE_NAME
+                  FROM pg_catalog.pg_class c
+                  JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace
+                  JOIN pg_catalog.pg_attribute a ON a.attrelid = c.oid AND a.attnum > 0 AND NOT a.attisdropped
+                  JOIN pg_catalog.pg_type t ON t.oid = a.atttypid
+                  LEFT JOIN pg_catalog.pg_type bt ON t.typtype = 'd' AND bt.oid = t.typbasetype
+                  LEFT JOIN pg_catalog.pg_attrdef ad ON ad.adrelid = c.oid AND ad.adnum = a.attnum
+                  WHERE n.nspname = ? AND c.relkind IN ('r', 'p')%s) cols
+            ORDER BY TABLE_NAME, COLUMN_POSITION""";
+
+    /**
+     * Default constructor
+     */
+    public PostgresIntrospector() {
+    }
+
+    @Override
+    public String getName() {
+        return "postgresql";
+    }
+
+    @Override
+    public boolean supports(String jdbcUrl) {
+        return jdbcUrl != null && jdbcUrl.startsWith("jdbc:postgresql:");
+    }
+
+    @Override
+    protected String columnsQuery(boolean singleTable) {
+        return COLUMNS_QUERY.formatted(singleTable? " AND c.relname = ?" : "");
+    }
+
+    @Override
+    protected List<String> enumValues(ResultSet rs) throws SQLException {
+        Array values = rs.getArray("ENUM_VALUES");
+        if (values == null) return List.of();
+        try {
+            return List.of((String[]) values.getArray());
+        } finally {
+            values.free();
+        }
+    }
+
+    @Override
+    protected int dataType(ResultSet rs) throws SQLException {
+        if ("A".equals(rs.getString("TYPE_CATEGORY"))) return Types.ARRAY;
+        return switch (rs.getString("TYPE_TYPE")) {
+            case "c" -> Types.STRUCT;
+            case "e" -> Types.VARCHAR;
+            default -> TYPES.getOrDefault(rs.getString("TYPE_NAME"), Types.OTHER);
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration of a schema processed by the plugin, used in the {@code schemas} parameter.
+ */
+@SuppressWarnings("unused")
+public class SchemaConfig {
+    /**
+     * Database schema name.
+     */
+    private String name;
+
+    /**
+     * Package name of the records generated for the schema (defaults to the {@code packageName} parameter).
+     */
+    private String packageName;
+
+    /**
+     * Path to the mappings file of the schema (defaults to the {@code mappingsPath} parameter).
+     */
+    private Path mappingsPath;
+
+    /**
+     * Default constructor
+     */
+    public SchemaConfig() {
+    }
+
+    /**
+     * Creates the configuration of a schema with default package and mappings.
+     * @param name Database schema name
+     */
+    public SchemaConfig(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the schema name.
+     * @return Database schema name
+     */
+    public String getName() { return name; }
+
+    /**
+     * Sets the schema name.
+     * @param name Database schema name
+     */
+    public void setName(String name) { this.name = name; }
+
+    /**
+     * Gets the package name.
+     * @return Package name, null if not set
+     */
+    public String getPackageName() { return packageName; }
+
+    /**
+     * Sets the package name.
+     * @param packageName Package name
+     */
+    public void setPackageName(String packageName) { this.packageName = packageName; }
+
+    /**
+     * Gets the mappings file path.
+     * @return Mappings file path, null if not set
+     */
+    public Path getMappingsPath() { return mappingsPath; }
+
+    /**
+     * Sets the mappings file path.
+     * @param mappingsPath Mappings file path
+     */
+    public void setMappingsPath(Path mappingsPath) { this.mappingsPath = mappingsPath; }
+}
@@ -0,0 +1,73 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service provider interface reading the schema metadata used by the generator.
+ * <p>
+ * The default implementation ({@link JdbcMetadataIntrospector}) uses the generic {@link java.sql.DatabaseMetaData} calls,
+ * the built-in dialect implementations query the database catalog directly. Additional implementations can be added
+ * to the plugin dependencies and registered in {@code META-INF/services/net.guarnie.maven.plugin.data.jdbc.SchemaIntrospector}.
+ * Implementations must be stateless: the same instance is used concurrently with different connections.
+ */
+public interface SchemaIntrospector {
+
+    /**
+     * Returns the name used to select the implementation with the {@code introspector} parameter.
+     * @return Introspector name
+     */
+    String getName();
+
+    /**
+     * Checks whether the implementation is the preferred one for a database, used when
+     * the {@code introspector} parameter is {@code auto}.
+     * @param jdbcUrl JDBC connection URL
+     * @return true if the implementation supports the database of the URL
+     */
+    boolean supports(String jdbcUrl);
+
+    /**
+     * Reads the names of the tables of the schema accepted by the mappings filters.
+     * @param conn Database connection
+     * @param schema Database schema
+     * @param mappings Generator mappings
+     * @return Table names
+     * @throws SQLException If database access fails.
+     */
+    List<String> readTableNames(Connection conn, String schema, GeneratorMappings mappings) throws SQLException;
+
+    /**
+     * Reads columns and primary keys of a single table.
+     * @param conn Database connection
+     * @param schema Database schema
+     * @param tableName Table name
+     * @return Table metadata
+     * @throws SQLException If database access fails.
+     */
+    TableInfo readTable(Connection conn, String schema, String tableName) throws SQLException;
+
+    /**
+     * Reads columns and primary keys of all the given tables with as few queries as possible.
+     * @param conn Database connection
+     * @param schema Database schema
+     * @param tableNames Names of the tables to read
+     * @return Table metadata by table name
+     * @throws SQLException If database access fails.
+     */
+    Map<String, TableInfo> readSchema(Connection conn, String schema, List<String> tableNames) throws SQLException;
+
+    /**
+     * Reads indexes and foreign keys of a table, used when the {@code readIndexes} parameter is enabled.
+     * Implementations not supporting index metadata return the table unchanged.
+     * @param conn Database connection
+     * @param table Table metadata
+     * @return Table metadata with its indexes and foreign keys
+     * @throws SQLException If database access fails.
+     */
+    default TableInfo readIndexes(Connection conn, TableInfo table) throws SQLException {
+        return table;
+    }
+}
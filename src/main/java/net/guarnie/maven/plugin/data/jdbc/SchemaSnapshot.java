@@ -0,0 +1,288 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact, versioned binary file holding the schema metadata read by the generator,
+ * so that records can be generated without a database connection.
+ * <p>
+ * Layout (gzip compressed): magic, format version, SQL dialect of the database, then one entry per table
+ * (schema, name, columns, indexes and foreign keys) preceded by a {@code true} marker, and a final {@code false} marker.
+ * Snapshots of a different format version must be taken again with the {@code snapshot-schema} goal.
+ */
+public final class SchemaSnapshot {
+    /**
+     * File signature ("DJSS").
+     */
+    private static final int MAGIC = 0x444A5353;
+
+    /**
+     * Current format version.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Utility class
+     */
+    private SchemaSnapshot() {
+    }
+
+    /**
+     * Writes a snapshot one table at a time.
+     */
+    public static final class Writer implements Closeable {
+        /**
+         * Underlying output stream.
+         */
+        private final DataOutputStream out;
+
+        /**
+         * Creates a writer on the given stream.
+         * @param out Output stream
+         */
+        private Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        /**
+         * Creates the snapshot file and writes its header.
+         * @param path Path of the snapshot file
+         * @param dialect SQL dialect of the database the schema is read from
+         * @return Snapshot writer
+         * @throws IOException If the file cannot be written.
+         */
+        public static Writer create(Path path, SqlDialect dialect) throws IOException {
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(path))));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(dialect.name());
+            return new Writer(out);
+        }
+
+        /**
+         * Appends a table.
+         * @param table Table metadata
+         * @throws IOException If the file cannot be written.
+         */
+        public void write(TableInfo table) throws IOException {
+            out.writeBoolean(true);
+            writeString(out, table.schema());
+            writeString(out, table.name());
+            out.writeInt(table.columns().size());
+            for (ColumnInfo column : table.columns()) {
+                writeString(out, column.name());
+                out.writeInt(column.dataType());
+                writeString(out, column.typeName());
+                out.writeInt(column.precision());
+                out.writeInt(column.scale());
+                out.writeBoolean(column.nullable());
+                writeStrings(out, column.enumValues());
+                out.writeBoolean(column.autoIncrement());
+                writeString(out, column.sequence());
+                out.writeBoolean(column.generatedAlways());
+                out.writeBoolean(table.isPrimaryKey(column.name()));
+            }
+            out.writeInt(table.indexes().size());
+            for (IndexInfo index : table.indexes()) {
+                writeString(out, index.name());
+                out.writeBoolean(index.unique());
+                writeStrings(out, index.columns());
+            }
+            out.writeInt(table.foreignKeys().size());
+            for (ForeignKeyInfo foreignKey : table.foreignKeys()) {
+                writeString(out, foreignKey.name());
+                writeStrings(out, foreignKey.columns());
+                writeString(out, foreignKey.referencedSchema());
+                writeString(out, foreignKey.referencedTable());
+                writeStrings(out, foreignKey.referencedColumns());
+            }
+        }
+
+        /**
+         * Writes the end marker. A snapshot without it is reported as truncated when read.
+         * @throws IOException If the file cannot be written.
+         */
+        public void finish() throws IOException {
+            out.writeBoolean(false);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads a snapshot one table at a time, without loading the whole schema in memory.
+     */
+    public static final class Reader implements Iterator<TableInfo>, Closeable {
+        /**
+         * Underlying input stream.
+         */
+        private final DataInputStream in;
+
+        /**
+         * SQL dialect of the database the schema has been read from.
+         */
+        private final SqlDialect dialect;
+
+        /**
+         * Next table, read ahead by {@link #hasNext()}.
+         */
+        private TableInfo next;
+
+        /**
+         * Whether the end marker has been read.
+         */
+        private boolean ended;
+
+        /**
+         * Creates a reader on the given stream, positioned after the header.
+         * @param in Input stream
+         * @param dialect SQL dialect read from the header
+         */
+        private Reader(DataInputStream in, SqlDialect dialect) {
+            this.in = in;
+            this.dialect = dialect;
+        }
+
+        /**
+         * Opens a snapshot file and reads its header.
+         * @param path Path of the snapshot file
+         * @return Snapshot reader
+         * @throws IOException If the file cannot be read or is not a supported snapshot.
+         */
+        public static Reader open(Path path) throws IOException {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path))));
+            try {
+                if (in.readInt() != MAGIC) throw new IOException("Not a schema snapshot: " + path);
+                int version = in.readInt();
+                if (version != VERSION) throw new IOException("Unsupported schema snapshot version " + version + ", run snapshot-schema again: " + path);
+                String dialect = in.readUTF();
+                try {
+                    return new Reader(in, SqlDialect.valueOf(dialect));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Unknown SQL dialect " + dialect + " in schema snapshot: " + path, e);
+                }
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Returns the SQL dialect of the database the schema has been read from.
+         * @return SQL dialect
+         */
+        public SqlDialect dialect() {
+            return dialect;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !ended) {
+                try {
+                    if (in.readBoolean()) next = readTable();
+                    else ended = true;
+                } catch (EOFException e) {
+                    throw new UncheckedIOException("Truncated schema snapshot", e);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public TableInfo next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            TableInfo table = next;
+            next = null;
+            return table;
+        }
+
+        /**
+         * Reads a table entry.
+         * @return Table metadata
+         * @throws IOException If the file cannot be read.
+         */
+        private TableInfo readTable() throws IOException {
+            String schema = readString(in);
+            String name = readString(in);
+            int count = in.readInt();
+            List<ColumnInfo> columns = new ArrayList<>(count);
+            Set<String> pkNames = new HashSet<>();
+            for (int i = 0; i < count; i++) {
+                ColumnInfo column = new ColumnInfo(readString(in), in.readInt(), readString(in), in.readInt(), in.readInt(), in.readBoolean(), readStrings(in),
+                        in.readBoolean(), readString(in), in.readBoolean());
+                if (in.readBoolean()) pkNames.add(column.name().toLowerCase());
+                columns.add(column);
+            }
+            count = in.readInt();
+            List<IndexInfo> indexes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) indexes.add(new IndexInfo(readString(in), in.readBoolean(), readStrings(in)));
+            count = in.readInt();
+            List<ForeignKeyInfo> foreignKeys = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                foreignKeys.add(new ForeignKeyInfo(readString(in), readStrings(in), readString(in), readString(in), readStrings(in)));
+            }
+            return new TableInfo(schema, name, columns, pkNames, indexes, foreignKeys);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Writes a nullable string.
+     * @param out Output stream
+     * @param s String to write
+     * @throws IOException If the stream cannot be written.
+     */
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) out.writeUTF(s);
+    }
+
+    /**
+     * Writes a list of nullable strings.
+     * @param out Output stream
+     * @param strings Strings to write
+     * @throws IOException If the stream cannot be written.
+     */
+    private static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String s : strings) writeString(out, s);
+    }
+
+    /**
+     * Reads a list of nullable strings.
+     * @param in Input stream
+     * @return Strings read
+     * @throws IOException If the stream cannot be read.
+     */
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) strings.add(readString(in));
+        return strings;
+    }
+
+    /**
+     * Reads a nullable string.
+     * @param in Input stream
+     * @return String read
+     * @throws IOException If the stream cannot be read.
+     */
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean()? in.readUTF() : null;
+    }
+}
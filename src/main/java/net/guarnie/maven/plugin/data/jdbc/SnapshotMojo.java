@@ -0,0 +1,73 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Maven goal that saves the schema metadata to a snapshot file, so that
+ * {@code generate-records} can run later without a database connection.
+ */
+@Mojo(name = "snapshot-schema")
+@SuppressWarnings("unused")
+public class SnapshotMojo extends AbstractSchemaMojo {
+    private static final Logger log = LoggerFactory.getLogger(SnapshotMojo.class);
+
+    /**
+     * Path of the snapshot file to write.
+     */
+    @Parameter(defaultValue = "${project.basedir}/schema.snapshot")
+    private Path snapshotPath;
+
+    /**
+     * Default constructor
+     */
+    public SnapshotMojo() {
+    }
+
+    /**
+     * Entry point for the Mojo execution.
+     * @throws MojoExecutionException If the snapshot fails.
+     */
+    @Override
+    public void execute() throws MojoExecutionException {
+        log.info("Starting schema snapshot");
+
+        GeneratorMappings mappings = loadMappings(mappingsPath);
+        Properties dbEnv = loadEnv(envPath);
+
+        SchemaIntrospector schemaIntrospector = resolveIntrospector(dbEnv.getProperty(JDBC_URL));
+
+        try (Connection conn = openConnection(dbEnv);
+             SchemaSnapshot.Writer writer = SchemaSnapshot.Writer.create(snapshotPath, SqlDialect.fromJdbcUrl(dbEnv.getProperty(JDBC_URL)))) {
+            Map<Path, GeneratorMappings> loaded = new HashMap<>();
+            int count = 0;
+
+            for (SchemaConfig schemaConfig : resolveSchemas(dbEnv.getProperty(JDBC_SCHEMA))) {
+                String schema = schemaConfig.getName();
+                List<String> tableNames = schemaIntrospector.readTableNames(conn, schema, schemaMappings(schemaConfig, mappings, loaded));
+                Map<String, TableInfo> tables = bulkIntrospection? schemaIntrospector.readSchema(conn, schema, tableNames) : Map.of();
+                for (String tableName : tableNames) {
+                    TableInfo table = bulkIntrospection? tables.get(tableName) : schemaIntrospector.readTable(conn, schema, tableName);
+                    writer.write(readIndexes? schemaIntrospector.readIndexes(conn, table) : table);
+                }
+                count += tableNames.size();
+            }
+            writer.finish();
+            log.info("Saved {} table(s) to schema snapshot: {}", count, snapshotPath);
+        } catch (Exception e) {
+            log.error("Critical error during schema snapshot", e);
+            throw new MojoExecutionException("Snapshot failed", e);
+        }
+    }
+}
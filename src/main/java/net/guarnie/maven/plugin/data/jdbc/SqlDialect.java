@@ -0,0 +1,189 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * SQL dialects of the statements generated for the tables.
+ * Every statement takes one parameter per column, in the order of the given columns.
+ */
+public enum SqlDialect {
+    /** PostgreSQL: {@code INSERT ... ON CONFLICT ... DO UPDATE} */
+    POSTGRESQL,
+    /** MySQL and MariaDB: {@code INSERT ... ON DUPLICATE KEY UPDATE} */
+    MYSQL,
+    /** H2: {@code MERGE INTO ... KEY} */
+    H2,
+    /** Oracle: {@code MERGE INTO ... USING (SELECT ... FROM DUAL)} */
+    ORACLE,
+    /** SQL Server: {@code MERGE INTO ... USING (VALUES ...)} */
+    SQLSERVER,
+    /** SQL standard {@code MERGE INTO ... USING (VALUES ...)} */
+    STANDARD;
+
+    /**
+     * Returns the dialect of a JDBC URL.
+     * @param jdbcUrl JDBC connection URL (may be null)
+     * @return Dialect, {@link #STANDARD} when not recognized
+     */
+    public static SqlDialect fromJdbcUrl(String jdbcUrl) {
+        if (jdbcUrl == null) return STANDARD;
+        if (jdbcUrl.startsWith("jdbc:postgresql:")) return POSTGRESQL;
+        if (jdbcUrl.startsWith("jdbc:mysql:") || jdbcUrl.startsWith("jdbc:mariadb:")) return MYSQL;
+        if (jdbcUrl.startsWith("jdbc:h2:")) return H2;
+        if (jdbcUrl.startsWith("jdbc:oracle:")) return ORACLE;
+        if (jdbcUrl.startsWith("jdbc:sqlserver:")) return SQLSERVER;
+        return STANDARD;
+    }
+
+    /**
+     * Returns the dialect with the given name, or the dialect of the database for {@code auto}.
+     * @param name Dialect name, case-insensitive (may be null, same as {@code auto})
+     * @param detected Dialect of the database, from its JDBC URL or from the schema snapshot
+     * @return Dialect
+     * @throws IllegalArgumentException If no dialect has the given name.
+     */
+    public static SqlDialect resolve(String name, SqlDialect detected) {
+        if (name == null || name.equalsIgnoreCase("auto")) return detected;
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns a quoted SQL identifier. Names are read from the database metadata with the case they are stored with,
+     * so the quoted name always designates the same object, whatever the case folding and the reserved words of the database.
+     * @param name Database name
+     * @return SQL identifier
+     */
+    public String identifier(String name) {
+        return switch (this) {
+            case MYSQL -> "`" + name.replace("`", "``") + "`";
+            case SQLSERVER -> "[" + name.replace("]", "]]") + "]";
+            default -> "\"" + name.replace("\"", "\"\"") + "\"";
+        };
+    }
+
+    /**
+     * Returns the INSERT statement of a table.
+     * @param table Table identifier
+     * @param columns Column identifiers, empty when all the columns are generated by the database
+     * @return INSERT statement
+     */
+    public String insert(String table, List<String> columns) {
+        if (columns.isEmpty()) return "INSERT INTO " + table + ((this == MYSQL)? " () VALUES ()" : " DEFAULT VALUES");
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" + parameters(columns.size()) + ")";
+    }
+
+    /**
+     * Returns the statement inserting a row of a table, or updating it when a row with the same key already exists.
+     * @param table Table identifier
+     * @param columns Column identifiers
+     * @param keyColumns Primary key column identifiers, a subset of the columns
+     * @return UPSERT statement, null when the table has no primary key
+     */
+    public String upsert(String table, List<String> columns, List<String> keyColumns) {
+        if (keyColumns.isEmpty()) return null;
+        List<String> updated = new ArrayList<>(columns);
+        updated.removeAll(keyColumns);
+
+        return switch (this) {
+            case POSTGRESQL -> insert(table, columns) + " ON CONFLICT (" + String.join(", ", keyColumns) + ")"
+                    + (updated.isEmpty()? " DO NOTHING" : " DO UPDATE SET " + assignments(updated, "EXCLUDED.", ""));
+            case MYSQL -> insert(table, columns) + " ON DUPLICATE KEY UPDATE "
+                    + (updated.isEmpty()? keyColumns.get(0) + " = " + keyColumns.get(0) : assignments(updated, "VALUES(", ")"));
+            case H2 -> "MERGE INTO " + table + " (" + String.join(", ", columns) + ") KEY (" + String.join(", ", keyColumns)
+                    + ") VALUES (" + parameters(columns.size()) + ")";
+            case ORACLE -> {
+                List<String> selected = new ArrayList<>(columns.size());
+                for (String column : columns) selected.add("? AS " + column);
+                yield merge(table, "(SELECT " + String.join(", ", selected) + " FROM DUAL) s", columns, keyColumns, updated);
+            }
+            case SQLSERVER -> merge(table, "(VALUES (" + parameters(columns.size()) + ")) AS s (" + String.join(", ", columns) + ")",
+                    columns, keyColumns, updated) + ";";
+            case STANDARD -> merge(table, "(VALUES (" + parameters(columns.size()) + ")) AS s (" + String.join(", ", columns) + ")",
+                    columns, keyColumns, updated);
+        };
+    }
+
+    /**
+     * Returns whether JSON values are bound as UTF-8 bytes instead of strings.
+     * H2 stores a string bound to a JSON column as a JSON string scalar, while it parses bytes as JSON text.
+     * @return true if JSON values are bound with {@code setBytes}
+     */
+    public boolean bindsJsonAsBytes() {
+        return this == H2;
+    }
+
+    /**
+     * Returns the query reading the next value of a sequence.
+     * @param sequence Sequence SQL name
+     * @return Query returning one row, null when the dialect has no sequences
+     */
+    public String nextValue(String sequence) {
+        return switch (this) {
+            case POSTGRESQL -> "SELECT nextval('" + sequence.replace("'", "''") + "')";
+            case ORACLE -> "SELECT " + sequence + ".NEXTVAL FROM DUAL";
+            case H2, SQLSERVER, STANDARD -> "SELECT NEXT VALUE FOR " + sequence;
+            case MYSQL -> null;
+        };
+    }
+
+    /**
+     * Returns the query reading several values of a sequence in a single call.
+     * The only parameter is the number of values.
+     * @param sequence Sequence SQL name
+     * @return Query returning one row per value, null when the dialect can't read several values at once
+     */
+    public String nextValues(String sequence) {
+        return switch (this) {
+            case POSTGRESQL -> "SELECT nextval('" + sequence.replace("'", "''") + "') FROM generate_series(1, ?)";
+            case ORACLE -> "SELECT " + sequence + ".NEXTVAL FROM DUAL CONNECT BY LEVEL <= ?";
+            case H2 -> "SELECT NEXT VALUE FOR " + sequence + " FROM SYSTEM_RANGE(1, ?)";
+            // SQL Server rejects NEXT VALUE FOR in a query with TOP (Msg 11739)
+            case MYSQL, SQLSERVER, STANDARD -> null;
+        };
+    }
+
+    /**
+     * Returns a MERGE statement.
+     * @param table Table identifier
+     * @param source Source rows, aliased as {@code s}
+     * @param columns Column identifiers
+     * @param keyColumns Primary key column identifiers
+     * @param updated Non key column identifiers
+     * @return MERGE statement
+     */
+    private static String merge(String table, String source, List<String> columns, List<String> keyColumns, List<String> updated) {
+        List<String> on = new ArrayList<>(keyColumns.size());
+        for (String column : keyColumns) on.add("t." + column + " = s." + column);
+        List<String> values = new ArrayList<>(columns.size());
+        for (String column : columns) values.add("s." + column);
+
+        return "MERGE INTO " + table + " t USING " + source + " ON (" + String.join(" AND ", on) + ")"
+                + (updated.isEmpty()? "" : " WHEN MATCHED THEN UPDATE SET " + assignments(updated, "s.", ""))
+                + " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", columns) + ") VALUES (" + String.join(", ", values) + ")";
+    }
+
+    /**
+     * Returns the assignments of the columns to their new values.
+     * @param columns Column identifiers
+     * @param prefix Prefix of the new value
+     * @param suffix Suffix of the new value
+     * @return Comma separated assignments
+     */
+    private static String assignments(List<String> columns, String prefix, String suffix) {
+        List<String> assignments = new ArrayList<>(columns.size());
+        for (String column : columns) assignments.add(column + " = " + prefix + column + suffix);
+        return String.join(", ", assignments);
+    }
+
+    /**
+     * Returns the parameter markers of a statement.
+     * @param count Number of parameters
+     * @return Comma separated parameter markers
+     */
+    private static String parameters(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
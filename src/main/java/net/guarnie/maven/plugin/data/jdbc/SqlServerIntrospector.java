@@ -0,0 +1,79 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Map;
+
+/**
+ * SQL Server {@link SchemaIntrospector} reading columns and primary keys from the {@code sys} catalog views in a single query.
+ * Alias types are reported with their system type, as the SQL Server JDBC driver does. CLR types ({@code geography},
+ * {@code geometry}, {@code hierarchyid} and assembly types) have no system type name and are reported with their own name.
+ */
+public class SqlServerIntrospector extends CatalogQueryIntrospector {
+
+    /**
+     * JDBC type codes of the system types, as reported by the SQL Server JDBC driver.
+     */
+    private static final Map<String, Integer> TYPES = Map.ofEntries(
+            Map.entry("bit", Types.BIT), Map.entry("tinyint", Types.TINYINT), Map.entry("smallint", Types.SMALLINT),
+            Map.entry("int", Types.INTEGER), Map.entry("bigint", Types.BIGINT), Map.entry("decimal", Types.DECIMAL),
+            Map.entry("numeric", Types.NUMERIC), Map.entry("money", Types.DECIMAL), Map.entry("smallmoney", Types.DECIMAL),
+            Map.entry("float", Types.DOUBLE), Map.entry("real", Types.REAL), Map.entry("date", Types.DATE),
+            Map.entry("time", Types.TIME), Map.entry("datetime", Types.TIMESTAMP), Map.entry("datetime2", Types.TIMESTAMP),
+            Map.entry("smalldatetime", Types.TIMESTAMP), Map.entry("datetimeoffset", -155), Map.entry("char", Types.CHAR),
+            Map.entry("varchar", Types.VARCHAR), Map.entry("text", Types.LONGVARCHAR), Map.entry("nchar", Types.NCHAR),
+            Map.entry("nvarchar", Types.NVARCHAR), Map.entry("ntext", Types.LONGNVARCHAR), Map.entry("binary", Types.BINARY),
+            Map.entry("varbinary", Types.VARBINARY), Map.entry("image", Types.LONGVARBINARY), Map.entry("timestamp", Types.BINARY),
+            Map.entry("uniqueidentifier", Types.CHAR), Map.entry("xml", Types.LONGNVARCHAR), Map.entry("geography", Types.VARBINARY),
+            Map.entry("geometry", Types.VARBINARY), Map.entry("hierarchyid", Types.VARBINARY));
+
+    /**
+     * Columns of the tables of a schema, joined with the primary key indexes.
+     */
+    private static final String COLUMNS_QUERY = """
+            SELECT t.name AS TABLE_NAME, c.name AS COLUMN_NAME, COALESCE(TYPE_NAME(c.system_type_id), TYPE_NAME(c.user_type_id)) AS TYPE_NAME,
+                   CAST(c.precision AS INT) AS COLUMN_SIZE, CAST(c.scale AS INT) AS DECIMAL_DIGITS, c.is_nullable AS NULLABLE,
+                   CASE WHEN pk.column_id IS NULL THEN 0 ELSE 1 END AS IS_PK,
+                   CASE WHEN c.is_identity = 1 OR dc.definition LIKE '(NEXT VALUE FOR %%' THEN 1 ELSE 0 END AS IS_AUTOINCREMENT,
+                   CASE WHEN dc.definition LIKE '(NEXT VALUE FOR %%' THEN SUBSTRING(dc.definition, 17, LEN(dc.definition) - 17) END AS SEQUENCE_NAME,
+                   CASE WHEN c.is_identity = 1 OR c.is_computed = 1 OR c.system_type_id = 189 THEN 1 ELSE 0 END AS GENERATED_ALWAYS
+            FROM sys.tables t
+            JOIN sys.schemas s ON s.schema_id = t.schema_id
+            JOIN sys.columns c ON c.object_id = t.object_id
+            LEFT JOIN (SELECT ic.object_id, ic.column_id
+                       FROM sys.indexes i
+                       JOIN sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id
+                       WHERE i.is_primary_key = 1) pk
+                   ON pk.object_id = c.object_id AND pk.column_id = c.column_id
+            LEFT JOIN sys.default_constraints dc ON dc.parent_object_id = c.object_id AND dc.parent_column_id = c.column_id
+            WHERE s.name = ?%s
+            ORDER BY t.name, c.column_id""";
+
+    /**
+     * Default constructor
+     */
+    public SqlServerIntrospector() {
+    }
+
+    @Override
+    public String getName() {
+        return "sqlserver";
+    }
+
+    @Override
+    public boolean supports(String jdbcUrl) {
+        return jdbcUrl != null && jdbcUrl.startsWith("jdbc:sqlserver:");
+    }
+
+    @Override
+    protected String columnsQuery(boolean singleTable) {
+        return COLUMNS_QUERY.formatted(singleTable? " AND t.name = ?" : "");
+    }
+
+    @Override
+    protected int dataType(ResultSet rs) throws SQLException {
+        String typeName = rs.getString("TYPE_NAME");
+        return (typeName == null)? Types.OTHER : TYPES.getOrDefault(typeName, Types.OTHER);
+    }
+}
@@ -0,0 +1,47 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Table metadata read from the database during schema introspection.
+ * @param schema Database schema
+ * @param name Table name
+ * @param columns Columns in ordinal position order
+ * @param pkNames Lower-cased names of the primary key columns
+ * @param indexes Indexes of the table, empty when not read
+ * @param foreignKeys Foreign keys of the table, empty when not read
+ */
+public record TableInfo(String schema, String name, List<ColumnInfo> columns, Set<String> pkNames,
+                        List<IndexInfo> indexes, List<ForeignKeyInfo> foreignKeys) {
+
+    /**
+     * Creates the metadata of a table without indexes and foreign keys.
+     * @param schema Database schema
+     * @param name Table name
+     * @param columns Columns in ordinal position order
+     * @param pkNames Lower-cased names of the primary key columns
+     */
+    public TableInfo(String schema, String name, List<ColumnInfo> columns, Set<String> pkNames) {
+        this(schema, name, columns, pkNames, List.of(), List.of());
+    }
+
+    /**
+     * Returns a copy of this table with the given indexes and foreign keys.
+     * @param indexes Indexes of the table
+     * @param foreignKeys Foreign keys of the table
+     * @return Table metadata
+     */
+    public TableInfo withIndexes(List<IndexInfo> indexes, List<ForeignKeyInfo> foreignKeys) {
+        return new TableInfo(schema, name, columns, pkNames, indexes, foreignKeys);
+    }
+
+    /**
+     * Checks whether the column belongs to the primary key.
+     * @param columnName Column name
+     * @return true if the column is part of the primary key
+     */
+    public boolean isPrimaryKey(String columnName) {
+        return pkNames.contains(columnName.toLowerCase());
+    }
+}
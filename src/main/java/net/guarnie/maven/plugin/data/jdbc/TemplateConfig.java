@@ -0,0 +1,85 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+/**
+ * Configuration of a template rendered for each table, used in the {@code templates} parameter.
+ * <p>
+ * The file name and package name are Handlebars patterns evaluated with the table naming values:
+ * {@code className}, {@code packageName} (package of the schema records), {@code dbTableName} and {@code schema}.
+ */
+@SuppressWarnings("unused")
+public class TemplateConfig {
+    /**
+     * Default output file name pattern.
+     */
+    public static final String DEFAULT_FILE_NAME = "{{className}}.java";
+
+    /**
+     * Default package name pattern.
+     */
+    public static final String DEFAULT_PACKAGE_NAME = "{{packageName}}";
+
+    /**
+     * Template name, without the {@code .hbs} extension.
+     */
+    private String name;
+
+    /**
+     * Output file name pattern.
+     */
+    private String fileName = DEFAULT_FILE_NAME;
+
+    /**
+     * Package name pattern of the generated file.
+     */
+    private String packageName = DEFAULT_PACKAGE_NAME;
+
+    /**
+     * Default constructor
+     */
+    public TemplateConfig() {
+    }
+
+    /**
+     * Creates the configuration of a template with default file and package names.
+     * @param name Template name
+     */
+    public TemplateConfig(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the template name.
+     * @return Template name
+     */
+    public String getName() { return name; }
+
+    /**
+     * Sets the template name.
+     * @param name Template name
+     */
+    public void setName(String name) { this.name = name; }
+
+    /**
+     * Gets the output file name pattern.
+     * @return File name pattern
+     */
+    public String getFileName() { return fileName; }
+
+    /**
+     * Sets the output file name pattern.
+     * @param fileName File name pattern
+     */
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    /**
+     * Gets the package name pattern.
+     * @return Package name pattern
+     */
+    public String getPackageName() { return packageName; }
+
+    /**
+     * Sets the package name pattern.
+     * @param packageName Package name pattern
+     */
+    public void setPackageName(String packageName) { this.packageName = packageName; }
+}
@@ -0,0 +1,45 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FingerprintStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void comparesWithThePreviousGeneration() throws IOException {
+        Path path = dir.resolve("state/fingerprints.txt");
+        FingerprintStore first = FingerprintStore.load(path);
+        assertFalse(first.isUnchanged("public.orders", "abc"));
+        first.put("public.orders", "abc");
+        first.put("public.items", "def");
+        first.save();
+
+        FingerprintStore second = FingerprintStore.load(path);
+        assertTrue(second.isUnchanged("public.orders", "abc"));
+        assertFalse(second.isUnchanged("public.items", "xyz"));
+        assertFalse(second.isUnchanged("public.customers", "abc"));
+
+        second.put("public.orders", "abc");
+        second.save();
+        assertEquals(List.of("abc public.orders"), Files.readAllLines(path));
+    }
+
+    @Test
+    void fingerprintsDependOnEveryValue() {
+        String base = new Fingerprint().add("orders").add(3).add(true).toHex();
+        assertEquals(base, new Fingerprint().add("orders").add(3).add(true).toHex());
+        assertNotEquals(base, new Fingerprint().add("orders").add(3).add(false).toHex());
+        assertNotEquals(new Fingerprint().add("ab").add("c").toHex(), new Fingerprint().add("a").add("bc").toHex());
+        assertNotEquals(new Fingerprint().add((String) null).toHex(), new Fingerprint().add("").toHex());
+    }
+}
@@ -0,0 +1,124 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.RecordComponent;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Compiles the generated sources with the test classpath and loads the compiled classes, so that the tests can run them.
+ */
+final class GeneratedSources implements AutoCloseable {
+    /**
+     * Loader of the compiled classes.
+     */
+    private final URLClassLoader loader;
+
+    /**
+     * Creates the loader of compiled classes.
+     * @param loader Loader of the compiled classes
+     */
+    private GeneratedSources(URLClassLoader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Compiles all the Java sources of a directory.
+     * @param sources Directory of the generated sources
+     * @param classes Directory of the compiled classes
+     * @return Compiled sources
+     * @throws IOException If the sources cannot be read or the classes written.
+     * @throws AssertionError If the sources don't compile, with the compiler errors.
+     */
+    static GeneratedSources compile(Path sources, Path classes) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(sources)) {
+            files = walk.filter(p -> p.toString().endsWith(".java")).toList();
+        }
+        Files.createDirectories(classes);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            List<String> options = List.of("-classpath", System.getProperty("java.class.path"), "-d", classes.toString(), "-proc:none");
+            boolean compiled = compiler.getTask(null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjectsFromPaths(files)).call();
+            if (!compiled) {
+                StringBuilder errors = new StringBuilder("Generated sources don't compile:");
+                for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) errors.append('\n').append(d);
+                throw new AssertionError(errors);
+            }
+        }
+        return new GeneratedSources(new URLClassLoader(new URL[] {classes.toUri().toURL()}, GeneratedSources.class.getClassLoader()));
+    }
+
+    /**
+     * Loads a compiled class.
+     * @param name Fully qualified class name
+     * @return Class
+     * @throws ClassNotFoundException If the class was not generated.
+     */
+    Class<?> load(String name) throws ClassNotFoundException {
+        return loader.loadClass(name);
+    }
+
+    /**
+     * Invokes a static method of a compiled class, by name.
+     * @param className Fully qualified class name
+     * @param method Method name
+     * @param args Method arguments
+     * @return Method result
+     * @throws Exception If the class or the method is missing, or if the method fails.
+     */
+    Object invoke(String className, String method, Object... args) throws Exception {
+        Class<?> type = load(className);
+        for (Method m : type.getMethods()) {
+            if (m.getName().equals(method) && m.getParameterCount() == args.length) return m.invoke(null, args);
+        }
+        throw new NoSuchMethodException(className + "." + method);
+    }
+
+    /**
+     * Implements a generated interface.
+     * @param interfaceName Binary name of the interface
+     * @param handler Implementation of the interface methods
+     * @return Proxy implementing the interface
+     * @throws ClassNotFoundException If the interface was not generated.
+     */
+    Object implement(String interfaceName, InvocationHandler handler) throws ClassNotFoundException {
+        return Proxy.newProxyInstance(loader, new Class<?>[] {load(interfaceName)}, handler);
+    }
+
+    /**
+     * Creates a generated record with its canonical constructor.
+     * @param className Fully qualified record class name
+     * @param components Record components, in declaration order
+     * @return Record
+     * @throws Exception If the record is missing or the components don't match.
+     */
+    Object record(String className, Object... components) throws Exception {
+        Class<?> type = load(className);
+        Class<?>[] types = Arrays.stream(type.getRecordComponents()).map(RecordComponent::getType).toArray(Class<?>[]::new);
+        Constructor<?> constructor = type.getDeclaredConstructor(types);
+        return constructor.newInstance(components);
+    }
+
+    @Override
+    public void close() throws IOException {
+        loader.close();
+    }
+}
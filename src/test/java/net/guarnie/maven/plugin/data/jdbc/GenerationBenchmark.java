@@ -0,0 +1,86 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end generation of the records, row mappers and batch writers of a synthetic schema of an in-memory H2 database,
+ * starting from an empty output directory each time.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GenerationBenchmark {
+    private static final String URL = "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1";
+
+    @Param({"1000", "5000"})
+    int tables;
+
+    @Param({"30"})
+    int columns;
+
+    @Param({"1", "4"})
+    int parallelism;
+
+    @Param({"false", "true"})
+    boolean bulkIntrospection;
+
+    private Connection conn;
+    private Path dir;
+
+    @Setup(Level.Trial)
+    public void createSchema() throws SQLException, IOException {
+        conn = DriverManager.getConnection(URL, "sa", "");
+        new SyntheticSchema(tables, columns).create(conn, "BENCH");
+        dir = Files.createTempDirectory("generation-benchmark");
+    }
+
+    @Setup(Level.Iteration)
+    public void cleanOutput() throws IOException {
+        deleteOutput();
+    }
+
+    @Benchmark
+    public void generate() throws Exception {
+        GeneratorMojo mojo = MojoFixture.generator(dir, URL, "BENCH", "com.example.bench");
+        MojoFixture.set(mojo, "parallelism", parallelism);
+        MojoFixture.set(mojo, "bulkIntrospection", bulkIntrospection);
+        MojoFixture.set(mojo, "generateRowMappers", true);
+        MojoFixture.set(mojo, "generateBatchWriters", true);
+        mojo.execute();
+    }
+
+    @TearDown(Level.Trial)
+    public void dropSchema() throws SQLException, IOException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        conn.close();
+        deleteOutput();
+    }
+
+    /**
+     * Deletes the generated files and the generation state.
+     */
+    private void deleteOutput() throws IOException {
+        for (Path path : new Path[] {dir.resolve("out"), dir.resolve("state")}) {
+            if (!Files.exists(path)) continue;
+            try (Stream<Path> files = Files.walk(path)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(file);
+            }
+        }
+    }
+}
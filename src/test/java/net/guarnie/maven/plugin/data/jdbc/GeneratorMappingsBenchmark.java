@@ -0,0 +1,67 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name mapping and table filtering with large filter and mapping sets, each operation applied to all the names.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratorMappingsBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int names;
+
+    private GeneratorMappings mappings;
+    private List<String> tableNames;
+    private List<String> columnNames;
+
+    @Setup
+    public void setUp() {
+        tableNames = new ArrayList<>(names);
+        columnNames = new ArrayList<>(names);
+        List<String> include = new ArrayList<>();
+        List<String> exclude = new ArrayList<>();
+        Map<String, Map<String, String>> columns = new HashMap<>();
+        for (int i = 0; i < names; i++) {
+            String table = "module_" + (i % 50) + "_table_" + i;
+            tableNames.add(table);
+            columnNames.add("some_column_name_" + i);
+            if (i % 2 == 0) include.add(table);
+            if (i % 10 == 0) exclude.add(".*_" + i + "_tmp");
+            if (i % 4 == 0) columns.put(table, Map.of("some_column_name_" + i, "custom" + i));
+        }
+        include.add("module_1_.*");
+
+        mappings = new GeneratorMappings();
+        mappings.getFilters().setInclude(include);
+        mappings.getFilters().setExclude(exclude);
+        mappings.getMappings().setColumns(columns);
+    }
+
+    @Benchmark
+    public void transformCase(Blackhole bh) {
+        for (String name : columnNames) bh.consume(mappings.transformCase(name));
+    }
+
+    @Benchmark
+    public void getMappedColumnName(Blackhole bh) {
+        for (int i = 0; i < names; i++) bh.consume(mappings.getMappedColumnName(tableNames.get(i), columnNames.get(i)));
+    }
+
+    @Benchmark
+    public void shouldProcessTable(Blackhole bh) {
+        for (String table : tableNames) bh.consume(mappings.shouldProcessTable(table));
+    }
+}
@@ -0,0 +1,92 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneratorMappingsTest {
+
+    @Test
+    void pushesLiteralIncludesDownAsLikePatterns() {
+        GeneratorMappings.FiltersConfig filters = new GeneratorMappings.FiltersConfig();
+        assertEquals(List.of("%"), filters.getTableNamePatterns("\\"));
+
+        filters.setInclude(List.of("orders", "stock_.*", "stock_.*"));
+        assertEquals(List.of("orders", "stock\\_%"), filters.getTableNamePatterns("\\"));
+        assertEquals(List.of("orders", "stock_%"), filters.getTableNamePatterns(null));
+
+        filters.setInclude(List.of("audit\\.log"));
+        assertEquals(List.of("audit.log"), filters.getTableNamePatterns("\\"));
+    }
+
+    @Test
+    void fallsBackToAllTablesForRegexIncludes() {
+        GeneratorMappings.FiltersConfig filters = new GeneratorMappings.FiltersConfig();
+        filters.setInclude(List.of("orders", "(a|b)_.*"));
+        assertEquals(List.of("%"), filters.getTableNamePatterns("\\"));
+
+        filters.setInclude(List.of(".*"));
+        assertEquals(List.of("%"), filters.getTableNamePatterns("\\"));
+    }
+
+    @Test
+    void combinedPatternMatchesTheSeparateFilters() {
+        GeneratorMappings.FiltersConfig filters = new GeneratorMappings.FiltersConfig();
+        filters.setInclude(List.of("stock_.*", "orders", "  "));
+        filters.setExclude(List.of(".*_tmp", "stock_old"));
+
+        for (String table : List.of("orders", "stock_items", "stock_old", "stock_items_tmp", "customers", "orders_tmp")) {
+            assertEquals(filters.isIncluded(table) && !filters.isExcluded(table), filters.accepts(table), table);
+        }
+        assertTrue(filters.accepts("stock_items"));
+        assertFalse(filters.accepts("stock_old"));
+        assertFalse(filters.accepts("customers"));
+    }
+
+    @Test
+    void acceptsEverythingWithoutFilters() {
+        GeneratorMappings mappings = new GeneratorMappings();
+        assertTrue(mappings.shouldProcessTable("anything"));
+    }
+
+    @Test
+    void transformsNamesToJavaCase() {
+        GeneratorMappings mappings = new GeneratorMappings();
+        assertEquals("OrderItems", mappings.getMappedTableName("ORDER_ITEMS"));
+        assertEquals("OrderStatus", mappings.getMappedTypeName("order_status"));
+        assertEquals("createdAt", mappings.getMappedColumnName("orders", "CREATED_AT").getLeft());
+        assertFalse(mappings.getMappedColumnName("orders", "CREATED_AT").getRight());
+    }
+
+    @Test
+    void appliesCustomMappingsBeforeRenameRules() {
+        GeneratorMappings mappings = new GeneratorMappings();
+        GeneratorMappings.RuleConfig prefix = new GeneratorMappings.RuleConfig();
+        prefix.setPrefix("tbl_");
+        prefix.setReplace("");
+        mappings.getRules().setTables(List.of(prefix));
+        GeneratorMappings.RuleConfig suffix = new GeneratorMappings.RuleConfig();
+        suffix.setSuffix("_cd");
+        suffix.setReplace("_code");
+        mappings.getRules().setColumns(List.of(suffix));
+        mappings.getMappings().setTables(Map.of("tbl_legacy", "Archive"));
+
+        assertEquals("Orders", mappings.getMappedTableName("TBL_ORDERS"));
+        assertEquals("Archive", mappings.getMappedTableName("tbl_legacy"));
+        assertEquals("statusCode", mappings.getMappedColumnName("orders", "status_cd").getLeft());
+        assertTrue(mappings.getMappedColumnName("orders", "status_cd").getRight());
+    }
+
+    @Test
+    void resolvesLobStrategies() {
+        GeneratorMappings mappings = new GeneratorMappings();
+        mappings.getMappings().setLobs(Map.of("documents", Map.of("content", "stream", "preview", "bogus")));
+
+        assertEquals(LobStrategy.STREAM, mappings.getLobStrategy("documents", "content", LobStrategy.MATERIALIZE));
+        assertEquals(LobStrategy.MATERIALIZE, mappings.getLobStrategy("documents", "title", LobStrategy.MATERIALIZE));
+        assertThrows(IllegalArgumentException.class, () -> mappings.getLobStrategy("documents", "preview", LobStrategy.MATERIALIZE));
+    }
+}
@@ -0,0 +1,396 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.jdbc.core.JdbcAggregateTemplate;
+import org.springframework.data.jdbc.repository.config.AbstractJdbcConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneratorMojoTest {
+    private static final String URL = "jdbc:h2:mem:generator;DB_CLOSE_DELAY=-1";
+
+    @TempDir
+    Path dir;
+
+    private Connection conn;
+
+    @BeforeEach
+    void openDatabase() throws Exception {
+        conn = DriverManager.getConnection(URL, "sa", "");
+    }
+
+    @AfterEach
+    void dropDatabase() throws Exception {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        conn.close();
+    }
+
+    @Test
+    void mapsEveryColumnType() throws Exception {
+        int types = SyntheticSchema.TYPES.size();
+        SyntheticSchema schema = new SyntheticSchema(types, types);
+        schema.create(conn, "SYNTH");
+
+        MojoFixture.generator(dir, URL, "SYNTH", "com.example.synth").execute();
+
+        schema.assertRecords(dir.resolve("out"), "com.example.synth");
+        // The last table has a column of each type
+        String record = Files.readString(dir.resolve("out/com/example/synth/" + schema.className(types - 1) + ".java"));
+        for (String type : List.of("java.math.BigDecimal", "java.time.Instant", "java.time.LocalDateTime", "java.time.LocalDate",
+                "java.time.LocalTime", "com.fasterxml.jackson.databind.JsonNode")) {
+            assertTrue(record.contains("import " + type + ";"), record);
+        }
+    }
+
+    @Test
+    void skipsUnchangedTablesAndDeletesStaleFiles() throws Exception {
+        execute("CREATE SCHEMA APP", "CREATE TABLE APP.ORDERS (ID BIGINT PRIMARY KEY)", "CREATE TABLE APP.ITEMS (ID BIGINT PRIMARY KEY)");
+        Path orders = dir.resolve("out/com/example/Orders.java");
+        Path items = dir.resolve("out/com/example/Items.java");
+
+        MojoFixture.generator(dir, URL, "APP", "com.example").execute();
+        Files.writeString(orders, "// untouched");
+        MojoFixture.generator(dir, URL, "APP", "com.example").execute();
+        assertEquals("// untouched", Files.readString(orders));
+
+        execute("DROP TABLE APP.ITEMS", "ALTER TABLE APP.ORDERS ADD COLUMN TOTAL DECIMAL(10, 2)");
+        MojoFixture.generator(dir, URL, "APP", "com.example").execute();
+        assertFalse(Files.exists(items));
+        assertTrue(Files.readString(orders).contains("BigDecimal total"));
+    }
+
+    @Test
+    void keepsTheFilesOfOtherExecutions() throws Exception {
+        execute("CREATE SCHEMA A", "CREATE SCHEMA B", "CREATE TABLE A.ORDERS (ID BIGINT PRIMARY KEY)", "CREATE TABLE B.ITEMS (ID BIGINT PRIMARY KEY)");
+
+        for (String schema : List.of("A", "B", "A")) {
+            GeneratorMojo mojo = MojoFixture.generator(dir, URL, schema, "com.example." + schema.toLowerCase());
+            MojoFixture.execution(mojo, "generate-" + schema);
+            mojo.execute();
+        }
+
+        assertTrue(Files.exists(dir.resolve("out/com/example/a/Orders.java")));
+        assertTrue(Files.exists(dir.resolve("out/com/example/b/Items.java")));
+        assertTrue(Files.exists(dir.resolve("state/generate-A/manifest.txt")));
+        assertTrue(Files.exists(dir.resolve("state/generate-B/manifest.txt")));
+    }
+
+    @Test
+    void generatesStatementsTheDatabaseRuns() throws Exception {
+        execute("CREATE SCHEMA APP", "CREATE TABLE APP.\"order\" (ID BIGINT PRIMARY KEY, \"user\" VARCHAR(20), \"Value\" INT)");
+        GeneratorMojo mojo = MojoFixture.generator(dir, URL, "APP", "com.example");
+        MojoFixture.set(mojo, "generateRowMappers", true);
+        MojoFixture.set(mojo, "generateBatchWriters", true);
+        mojo.execute();
+
+        String writer = Files.readString(dir.resolve("out/com/example/OrderBatchWriter.java"));
+        String mapper = Files.readString(dir.resolve("out/com/example/OrderRowMapper.java"));
+        execute("SET SCHEMA APP");
+        update(MojoFixture.constant(writer, "INSERT"), 1L, "a", 10);
+        update(MojoFixture.constant(writer, "UPSERT"), 1L, "b", 20);
+        update(MojoFixture.constant(writer, "UPSERT"), 2L, "c", 30);
+
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(MojoFixture.constant(mapper, "SELECT") + " ORDER BY 1")) {
+            assertTrue(rs.next());
+            assertEquals(1L, rs.getLong(1));
+            assertEquals("b", rs.getString(2));
+            assertEquals(20, rs.getInt(3));
+            assertTrue(rs.next());
+            assertEquals(2L, rs.getLong(1));
+            assertFalse(rs.next());
+        }
+    }
+
+    @Test
+    void compilesTheGeneratedSourcesOfEveryColumnType() throws Exception {
+        int types = SyntheticSchema.TYPES.size();
+        SyntheticSchema schema = new SyntheticSchema(types, types);
+        schema.create(conn, "SYNTH");
+        GeneratorMojo mojo = MojoFixture.generator(dir, URL, "SYNTH", "com.example.synth");
+        MojoFixture.set(mojo, "generateRowMappers", true);
+        MojoFixture.set(mojo, "generateBatchWriters", true);
+        mojo.execute();
+
+        try (GeneratedSources sources = GeneratedSources.compile(dir.resolve("out"), dir.resolve("classes"))) {
+            // The last table has a column of each type
+            String className = "com.example.synth." + schema.className(types - 1);
+            assertTrue(sources.load(className).isRecord());
+            assertTrue(RowMapper.class.isAssignableFrom(sources.load(className + "RowMapper")));
+            sources.load(className + "BatchWriter");
+        }
+    }
+
+    @Test
+    void runsTheGeneratedWriterAndMapper() throws Exception {
+        execute("CREATE SCHEMA APP", "CREATE TABLE APP.ORDERS (ID BIGINT PRIMARY KEY, NAME VARCHAR(20), TOTAL DECIMAL(10, 2), "
+                + "CREATED TIMESTAMP WITH TIME ZONE, DUE DATE, PAID BOOLEAN NOT NULL)");
+        GeneratorMojo mojo = MojoFixture.generator(dir, URL, "APP", "com.example");
+        MojoFixture.set(mojo, "generateRowMappers", true);
+        MojoFixture.set(mojo, "generateBatchWriters", true);
+        mojo.execute();
+
+        execute("SET SCHEMA APP");
+        JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(conn, true));
+        try (GeneratedSources sources = GeneratedSources.compile(dir.resolve("out"), dir.resolve("classes"))) {
+            List<Object> records = List.of(
+                    sources.record("com.example.Orders", 1L, "a", new BigDecimal("12.50"), Instant.parse("2024-01-02T03:04:05Z"), LocalDate.of(2024, 1, 31), true),
+                    sources.record("com.example.Orders", 2L, null, null, null, null, false));
+            sources.invoke("com.example.OrdersBatchWriter", "insert", jdbc, records);
+
+            RowMapper<?> mapper = (RowMapper<?>) sources.load("com.example.OrdersRowMapper").getField("INSTANCE").get(null);
+            String select = (String) sources.load("com.example.OrdersRowMapper").getField("SELECT").get(null);
+            assertEquals(records, jdbc.query(select + " ORDER BY 1", mapper));
+        }
+    }
+
+    @Test
+    void leavesColumnsGeneratedAlwaysOutOfTheWrites() throws Exception {
+        execute("CREATE SCHEMA APP", "CREATE TABLE APP.TICKETS (ID BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, "
+                + "NAME VARCHAR(20), CODE BIGINT GENERATED ALWAYS AS (ID * 10))");
+        GeneratorMojo mojo = MojoFixture.generator(dir, URL, "APP", "com.example");
+        MojoFixture.set(mojo, "generateRowMappers", true);
+        MojoFixture.set(mojo, "generateBatchWriters", true);
+        mojo.execute();
+
+        String writer = Files.readString(dir.resolve("out/com/example/TicketsBatchWriter.java"));
+        assertEquals("INSERT INTO \"TICKETS\" (\"NAME\") VALUES (?)", MojoFixture.constant(writer, "INSERT"));
+        assertFalse(writer.contains("UPSERT"), writer);
+
+        execute("SET SCHEMA APP");
+        JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(conn, true));
+        try (GeneratedSources sources = GeneratedSources.compile(dir.resolve("out"), dir.resolve("classes"))) {
+            sources.invoke("com.example.TicketsBatchWriter", "insert", jdbc,
+                    List.of(sources.record("com.example.Tickets", null, "a", null), sources.record("com.example.Tickets", 7L, "b", 1L)));
+
+            RowMapper<?> mapper = (RowMapper<?>) sources.load("com.example.TicketsRowMapper").getField("INSTANCE").get(null);
+            assertEquals(List.of(sources.record("com.example.Tickets", 1L, "a", 10L), sources.record("com.example.Tickets", 2L, "b", 20L)),
+                    jdbc.query("SELECT * FROM TICKETS ORDER BY ID", mapper));
+        }
+    }
+
+    @Test
+    void roundTripsJsonValues() throws Exception {
+        execute("CREATE SCHEMA APP", "CREATE TABLE APP.EVENTS (ID BIGINT PRIMARY KEY, PAYLOAD JSON)");
+        GeneratorMojo mojo = MojoFixture.generator(dir, URL, "APP", "com.example");
+        MojoFixture.set(mojo, "generateRowMappers", true);
+        MojoFixture.set(mojo, "generateBatchWriters", true);
+        mojo.execute();
+
+        execute("SET SCHEMA APP");
+        JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(conn, true));
+        try (GeneratedSources sources = GeneratedSources.compile(dir.resolve("out"), dir.resolve("classes"))) {
+            JsonNode payload = new ObjectMapper().readTree("{\"k\":1,\"tags\":[\"a\"]}");
+            List<Object> records = List.of(sources.record("com.example.Events", 1L, payload), sources.record("com.example.Events", 2L, null));
+            sources.invoke("com.example.EventsBatchWriter", "insert", jdbc, records);
+
+            // Stored as a JSON object, not as a JSON string
+            assertEquals(List.of(true), jdbc.queryForList("SELECT PAYLOAD IS JSON OBJECT FROM EVENTS WHERE ID = 1", Boolean.class));
+            RowMapper<?> mapper = (RowMapper<?>) sources.load("com.example.EventsRowMapper").getField("INSTANCE").get(null);
+            assertEquals(records, jdbc.query("SELECT ID, PAYLOAD FROM EVENTS ORDER BY ID", mapper));
+        }
+    }
+
+    @Test
+    void streamsLargeObjectsOfRecordsReadBySpringData() throws Exception {
+        execute("CREATE SCHEMA APP", "CREATE TABLE APP.DOCS (ID BIGINT PRIMARY KEY, NAME VARCHAR(20), CONTENT BLOB, BODY CLOB)");
+        GeneratorMojo mojo = MojoFixture.generator(dir, URL, "APP", "com.example");
+        MojoFixture.set(mojo, "lobStrategy", "stream");
+        mojo.execute();
+
+        execute("SET SCHEMA APP");
+        JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(conn, true));
+        try (GeneratedSources sources = GeneratedSources.compile(dir.resolve("out"), dir.resolve("classes"));
+             AnnotationConfigApplicationContext spring = new AnnotationConfigApplicationContext()) {
+            spring.registerBean(NamedParameterJdbcOperations.class, () -> new NamedParameterJdbcTemplate(jdbc));
+            spring.register(AbstractJdbcConfiguration.class);
+            spring.refresh();
+            JdbcAggregateTemplate aggregates = spring.getBean(JdbcAggregateTemplate.class);
+
+            Object doc = sources.record("com.example.Docs", 1L, "a");
+            aggregates.insert(doc);
+            byte[] content = {1, 2, 3};
+            assertEquals(1, sources.invoke("com.example.DocsLobs", "writeContent", jdbc, 1L, new ByteArrayInputStream(content), (long) content.length));
+            assertEquals(1, sources.invoke("com.example.DocsLobs", "writeBody", jdbc, 1L, new StringReader("text"), 4L));
+
+            // The record has no large object component: Spring Data JDBC reads the other columns only
+            assertEquals(doc, aggregates.findById(1L, sources.load("com.example.Docs")));
+            Object readBytes = sources.implement("com.example.DocsLobs$StreamReader", (proxy, method, args) -> ((InputStream) args[0]).readAllBytes());
+            assertArrayEquals(content, (byte[]) ((Optional<?>) sources.invoke("com.example.DocsLobs", "readContent", jdbc, 1L, readBytes)).orElseThrow());
+            Object readText = sources.implement("com.example.DocsLobs$StreamReader", (proxy, method, args) -> {
+                StringWriter text = new StringWriter();
+                ((Reader) args[0]).transferTo(text);
+                return text.toString();
+            });
+            assertEquals(Optional.of("text"), sources.invoke("com.example.DocsLobs", "readBody", jdbc, 1L, readText));
+            assertEquals(Optional.empty(), sources.invoke("com.example.DocsLobs", "readBody", jdbc, 2L, readText));
+        }
+    }
+
+    @Test
+    void streamsPostgresByteaAndTextColumns() throws Exception {
+        Path snapshot = dir.resolve("schema.snapshot");
+        try (SchemaSnapshot.Writer writer = SchemaSnapshot.Writer.create(snapshot, SqlDialect.POSTGRESQL)) {
+            writer.write(new TableInfo("public", "files", List.of(new ColumnInfo("id", Types.BIGINT, "int8", 19, 0, false),
+                    new ColumnInfo("data", Types.BINARY, "bytea", 0, 0, true), new ColumnInfo("notes", Types.VARCHAR, "text", 0, 0, true),
+                    new ColumnInfo("name", Types.VARCHAR, "varchar", 20, 0, true)), Set.of("id")));
+            writer.finish();
+        }
+        GeneratorMojo mojo = MojoFixture.generator(dir, "x", "public", "com.example");
+        MojoFixture.set(mojo, "snapshotPath", snapshot);
+        MojoFixture.set(mojo, "lobStrategy", "stream");
+        mojo.execute();
+
+        String record = Files.readString(dir.resolve("out/com/example/Files.java"));
+        assertFalse(record.contains("byte[]") || record.contains("notes"), record);
+        assertTrue(record.contains("String name"), record);
+        String lobs = Files.readString(dir.resolve("out/com/example/FilesLobs.java"));
+        assertEquals("SELECT \"data\" FROM \"files\" WHERE \"id\" = ?", MojoFixture.constant(lobs, "SELECT_DATA"));
+        assertTrue(lobs.contains("ps.setBinaryStream(1, content, length)") && lobs.contains("rs.getCharacterStream(1)"), lobs);
+    }
+
+    @Test
+    void generatesFromSnapshotsWithTheirDialect() throws Exception {
+        execute("CREATE SCHEMA APP", "CREATE TABLE APP.ORDERS (ID BIGINT PRIMARY KEY, NAME VARCHAR(20))");
+        Path snapshot = dir.resolve("schema.snapshot");
+        MojoFixture.snapshot(dir, URL, "APP", snapshot).execute();
+        try (SchemaSnapshot.Reader reader = SchemaSnapshot.Reader.open(snapshot)) {
+            assertEquals(SqlDialect.H2, reader.dialect());
+        }
+
+        GeneratorMojo mojo = MojoFixture.generator(dir, "jdbc:unknown:", "NONE", "com.example");
+        MojoFixture.set(mojo, "snapshotPath", snapshot);
+        MojoFixture.set(mojo, "generateBatchWriters", true);
+        mojo.execute();
+
+        String writer = Files.readString(dir.resolve("out/com/example/OrdersBatchWriter.java"));
+        assertEquals("MERGE INTO \"ORDERS\" (\"ID\", \"NAME\") KEY (\"ID\") VALUES (?, ?)", MojoFixture.constant(writer, "UPSERT"));
+    }
+
+    @Test
+    void mapsEnumTypesOnlyWhenEnabled() throws Exception {
+        ColumnInfo state = new ColumnInfo("state", Types.VARCHAR, "status", 0, 0, false, List.of("NEW", "DONE"), false, null, false);
+        Path snapshot = dir.resolve("schema.snapshot");
+        try (SchemaSnapshot.Writer writer = SchemaSnapshot.Writer.create(snapshot, SqlDialect.POSTGRESQL)) {
+            writer.write(new TableInfo("public", "orders", List.of(new ColumnInfo("id", Types.BIGINT, "int8", 19, 0, false), state), Set.of("id")));
+            writer.write(new TableInfo("public", "status", List.of(new ColumnInfo("id", Types.BIGINT, "int8", 19, 0, false)), Set.of("id")));
+            writer.finish();
+        }
+
+        GeneratorMojo disabled = MojoFixture.generator(dir.resolve("disabled"), "x", "public", "com.example");
+        MojoFixture.set(disabled, "snapshotPath", snapshot);
+        disabled.execute();
+        assertTrue(Files.readString(dir.resolve("disabled/out/com/example/Orders.java")).contains("String state"));
+
+        GeneratorMojo enabled = MojoFixture.generator(dir.resolve("enabled"), "x", "public", "com.example");
+        MojoFixture.set(enabled, "snapshotPath", snapshot);
+        MojoFixture.set(enabled, "useEnumTypes", true);
+        enabled.execute();
+        assertTrue(Files.readString(dir.resolve("enabled/out/com/example/Orders.java")).contains("StatusEnum state"));
+        assertTrue(Files.readString(dir.resolve("enabled/out/com/example/Status.java")).contains("public record Status("));
+        assertTrue(Files.readString(dir.resolve("enabled/out/com/example/StatusEnum.java")).contains("enum StatusEnum"));
+    }
+
+    @Test
+    void regeneratesTablesWhoseEnumNamesChange() throws Exception {
+        ColumnInfo state = new ColumnInfo("state", Types.VARCHAR, "status", 0, 0, false, List.of("NEW", "DONE"), false, null, false);
+        TableInfo orders = new TableInfo("public", "orders", List.of(new ColumnInfo("id", Types.BIGINT, "int8", 19, 0, false), state), Set.of("id"));
+        Path snapshot = dir.resolve("schema.snapshot");
+        try (SchemaSnapshot.Writer writer = SchemaSnapshot.Writer.create(snapshot, SqlDialect.POSTGRESQL)) {
+            writer.write(orders);
+            writer.write(new TableInfo("public", "status", List.of(new ColumnInfo("id", Types.BIGINT, "int8", 19, 0, false)), Set.of("id")));
+            writer.finish();
+        }
+        GeneratorMojo mojo = MojoFixture.generator(dir, "x", "public", "com.example");
+        MojoFixture.set(mojo, "snapshotPath", snapshot);
+        MojoFixture.set(mojo, "useEnumTypes", true);
+        mojo.execute();
+        assertTrue(Files.readString(dir.resolve("out/com/example/Orders.java")).contains("StatusEnum state"));
+
+        // Without the colliding table the enum takes the type name, in the file of the dropped table record
+        try (SchemaSnapshot.Writer writer = SchemaSnapshot.Writer.create(snapshot, SqlDialect.POSTGRESQL)) {
+            writer.write(orders);
+            writer.finish();
+        }
+        mojo = MojoFixture.generator(dir, "x", "public", "com.example");
+        MojoFixture.set(mojo, "snapshotPath", snapshot);
+        MojoFixture.set(mojo, "useEnumTypes", true);
+        mojo.execute();
+        assertTrue(Files.readString(dir.resolve("out/com/example/Orders.java")).contains("Status state"));
+        assertTrue(Files.readString(dir.resolve("out/com/example/Status.java")).contains("enum Status"));
+        assertFalse(Files.exists(dir.resolve("out/com/example/StatusEnum.java")));
+    }
+
+    @Test
+    void skipsIdAllocatorsOfKeysGeneratedAlways() throws Exception {
+        Path snapshot = dir.resolve("schema.snapshot");
+        try (SchemaSnapshot.Writer writer = SchemaSnapshot.Writer.create(snapshot, SqlDialect.POSTGRESQL)) {
+            writer.write(new TableInfo("public", "orders",
+                    List.of(new ColumnInfo("id", Types.BIGINT, "int8", 19, 0, false, List.of(), true, "\"public\".\"orders_id_seq\"", false)), Set.of("id")));
+            writer.write(new TableInfo("public", "items",
+                    List.of(new ColumnInfo("id", Types.BIGINT, "int8", 19, 0, false, List.of(), true, "\"public\".\"items_id_seq\"", true)), Set.of("id")));
+            writer.finish();
+        }
+
+        GeneratorMojo mojo = MojoFixture.generator(dir, "x", "public", "com.example");
+        MojoFixture.set(mojo, "snapshotPath", snapshot);
+        MojoFixture.set(mojo, "generateIdAllocators", true);
+        mojo.execute();
+
+        String allocator = Files.readString(dir.resolve("out/com/example/OrdersIdAllocator.java"));
+        assertEquals("SELECT nextval('\"public\".\"orders_id_seq\"')", MojoFixture.constant(allocator, "NEXT_VALUE"));
+        assertTrue(allocator.contains("from the \"public\".\"orders_id_seq\" sequence"), allocator);
+        assertFalse(Files.exists(dir.resolve("out/com/example/ItemsIdAllocator.java")));
+    }
+
+    /**
+     * Executes DDL statements.
+     */
+    private void execute(String... sql) throws Exception {
+        try (Statement stmt = conn.createStatement()) {
+            for (String s : sql) stmt.execute(s);
+        }
+    }
+
+    /**
+     * Executes a generated statement with its parameters.
+     */
+    private void update(String sql, Object... parameters) throws Exception {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) stmt.setObject(i + 1, parameters[i]);
+            assertEquals(1, stmt.executeUpdate(), sql);
+        }
+    }
+}
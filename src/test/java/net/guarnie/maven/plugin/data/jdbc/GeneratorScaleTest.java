@@ -0,0 +1,75 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Generation of a large synthetic schema within a wall-clock and a heap budget.
+ * The defaults keep the test fast; larger schemas are run with, for example:
+ * {@code mvn test -Dtest=GeneratorScaleTest -Dscale.tables=5000 -Dscale.columns=300 -Dscale.budgetMillis=600000 -Dscale.maxHeapMb=4096}
+ */
+class GeneratorScaleTest {
+    private static final String URL = "jdbc:h2:mem:scale;DB_CLOSE_DELAY=-1";
+    private static final int TABLES = Integer.getInteger("scale.tables", 300);
+    private static final int COLUMNS = Integer.getInteger("scale.columns", 60);
+    private static final int PARALLELISM = Integer.getInteger("scale.parallelism", 4);
+    private static final long BUDGET_MILLIS = Long.getLong("scale.budgetMillis", 60_000);
+    private static final long MAX_HEAP_MB = Long.getLong("scale.maxHeapMb", 1024);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void generatesLargeSchemasWithinBudget() throws Exception {
+        SyntheticSchema schema = new SyntheticSchema(TABLES, COLUMNS);
+        try (Connection conn = DriverManager.getConnection(URL, "sa", "")) {
+            schema.create(conn, "SCALE");
+
+            GeneratorMojo mojo = MojoFixture.generator(dir, URL, "SCALE", "com.example.scale");
+            MojoFixture.set(mojo, "parallelism", PARALLELISM);
+            MojoFixture.set(mojo, "generateRowMappers", true);
+            MojoFixture.set(mojo, "generateBatchWriters", true);
+
+            // The peak includes the in-memory database, an upper bound of the generator heap
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) pool.resetPeakUsage();
+            long start = System.nanoTime();
+            mojo.execute();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            long peakHeapMb = peakHeap() >> 20;
+
+            System.out.printf("Generated %d tables, %d columns in %d ms, peak heap %d MB%n", TABLES, schema.columnsTotal(), elapsedMillis, peakHeapMb);
+            schema.assertRecords(dir.resolve("out"), "com.example.scale");
+            try (var files = Files.list(dir.resolve("out/com/example/scale"))) {
+                assertEquals(3L * TABLES, files.count());
+            }
+            assertTrue(elapsedMillis <= BUDGET_MILLIS, "Generation took " + elapsedMillis + " ms, budget " + BUDGET_MILLIS + " ms");
+            assertTrue(peakHeapMb <= MAX_HEAP_MB, "Peak heap " + peakHeapMb + " MB, budget " + MAX_HEAP_MB + " MB");
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP ALL OBJECTS");
+            }
+        }
+    }
+
+    /**
+     * Returns the sum of the peak usages of the heap memory pools since their last reset.
+     */
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,57 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Java type mapping of all the JDBC type codes, plus the SQL Server {@code datetimeoffset} code.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapSqlTypeBenchmark {
+
+    private GeneratorMojo mojo;
+    private int[] types;
+    private String[] typeNames;
+
+    @Setup
+    public void setUp() throws IllegalAccessException {
+        mojo = new GeneratorMojo();
+        MojoFixture.set(mojo, "timestampTzClassName", "java.time.Instant");
+
+        List<Integer> codes = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (Field field : Types.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == int.class) {
+                codes.add(field.getInt(null));
+                names.add(field.getName().toLowerCase());
+            }
+        }
+        codes.add(-155);
+        names.add("datetimeoffset");
+        // OTHER also stands for the json and uuid types
+        codes.add(Types.OTHER);
+        names.add("jsonb");
+        codes.add(Types.OTHER);
+        names.add("uuid");
+
+        types = codes.stream().mapToInt(Integer::intValue).toArray();
+        typeNames = names.toArray(String[]::new);
+    }
+
+    @Benchmark
+    public void mapSqlType(Blackhole bh) {
+        for (int i = 0; i < types.length; i++) bh.consume(mojo.mapSqlType(types[i], typeNames[i], 12, 2));
+    }
+}
@@ -0,0 +1,130 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Configures the goals outside of Maven, setting their parameters with the values Maven would inject.
+ */
+final class MojoFixture {
+    /**
+     * Java string constant of a generated class.
+     */
+    private static final String CONSTANT_PATTERN = "static final String %s = \"((?:[^\"\\\\]|\\\\.)*)\";";
+
+    /**
+     * Utility class
+     */
+    private MojoFixture() {
+    }
+
+    /**
+     * Creates a generator reading a schema of a database, with the default values of its parameters.
+     * The output files go to {@code out} and the generation state to {@code state}, both in the given directory.
+     * @param dir Working directory
+     * @param url JDBC URL of the database
+     * @param schema Database schema
+     * @param packageName Package of the generated files
+     * @return Configured generator
+     * @throws IOException If the database properties cannot be written.
+     */
+    static GeneratorMojo generator(Path dir, String url, String schema, String packageName) throws IOException {
+        GeneratorMojo mojo = new GeneratorMojo();
+        set(mojo, "envPath", env(dir, url, schema));
+        set(mojo, "introspector", "jdbc");
+        set(mojo, "packageName", packageName);
+        set(mojo, "outputPath", dir.resolve("out"));
+        set(mojo, "statePath", dir.resolve("state"));
+        set(mojo, "lobStrategy", "materialize");
+        set(mojo, "sqlDialect", "auto");
+        set(mojo, "idAllocation", "sequence");
+        set(mojo, "idAllocationSize", 50);
+        set(mojo, "parallelism", 1);
+        set(mojo, "incremental", true);
+        set(mojo, "pluginVersion", "test");
+        set(mojo, "slowestTables", 10);
+        return mojo;
+    }
+
+    /**
+     * Creates a snapshot goal reading a schema of a database, with the default values of its parameters.
+     * @param dir Working directory
+     * @param url JDBC URL of the database
+     * @param schema Database schema
+     * @param snapshotPath Path of the snapshot file to write
+     * @return Configured snapshot goal
+     * @throws IOException If the database properties cannot be written.
+     */
+    static SnapshotMojo snapshot(Path dir, String url, String schema, Path snapshotPath) throws IOException {
+        SnapshotMojo mojo = new SnapshotMojo();
+        set(mojo, "envPath", env(dir, url, schema));
+        set(mojo, "introspector", "jdbc");
+        set(mojo, "snapshotPath", snapshotPath);
+        return mojo;
+    }
+
+    /**
+     * Sets the execution of a goal, as declared in the POM.
+     * @param mojo Goal
+     * @param executionId Execution id
+     */
+    static void execution(GeneratorMojo mojo, String executionId) {
+        set(mojo, "mojoExecution", new MojoExecution(new MojoDescriptor(), executionId));
+    }
+
+    /**
+     * Sets a parameter of a goal.
+     * @param mojo Goal
+     * @param name Parameter name, the name of its field
+     * @param value Parameter value
+     */
+    static void set(Object mojo, String name, Object value) {
+        for (Class<?> type = mojo.getClass(); type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(mojo, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                // Declared by a superclass
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalArgumentException("Unknown parameter: " + name);
+    }
+
+    /**
+     * Returns the value of a string constant of a generated class.
+     * @param source Generated source
+     * @param name Constant name
+     * @return Constant value, without the Java escapes
+     */
+    static String constant(String source, String name) {
+        Matcher m = Pattern.compile(CONSTANT_PATTERN.formatted(name)).matcher(source);
+        if (!m.find()) throw new IllegalArgumentException("No constant " + name + " in:\n" + source);
+        return m.group(1).replace("\\\"", "\"").replace("\\\\", "\\");
+    }
+
+    /**
+     * Writes the database properties file of a schema.
+     * @param dir Working directory
+     * @param url JDBC URL of the database
+     * @param schema Database schema
+     * @return Path of the properties file
+     * @throws IOException If the file cannot be written.
+     */
+    private static Path env(Path dir, String url, String schema) throws IOException {
+        Files.createDirectories(dir);
+        Path env = dir.resolve(schema + ".env");
+        Files.writeString(env, "jdbc.url=" + url + "\njdbc.user=sa\njdbc.pass=\njdbc.schema=" + schema + "\n");
+        return env;
+    }
+}
@@ -0,0 +1,51 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutputManifestTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void deletesOnlyTheStaleFilesItOwns() throws IOException {
+        Path out = dir.resolve("out");
+        for (String file : List.of("com/a/Kept.java", "com/a/Dropped.java", "com/a/Shared.java")) {
+            Files.createDirectories(out.resolve(file).getParent());
+            Files.writeString(out.resolve(file), "");
+        }
+        Path path = dir.resolve("state/a/manifest.txt");
+        OutputManifest previous = OutputManifest.load(path);
+        previous.add("com/a/Kept.java");
+        previous.add("com/a/Dropped.java");
+        previous.add("com/a/Shared.java");
+        previous.save();
+        Path other = dir.resolve("state/b/manifest.txt");
+        Files.createDirectories(other.getParent());
+        Files.write(other, List.of("com/a/Shared.java"));
+
+        OutputManifest current = OutputManifest.load(path);
+        current.add("com/a/Kept.java");
+        assertEquals(List.of("com/a/Dropped.java"), current.deleteStale(out, List.of(other)));
+        assertTrue(Files.exists(out.resolve("com/a/Kept.java")));
+        assertTrue(Files.exists(out.resolve("com/a/Shared.java")));
+        assertFalse(Files.exists(out.resolve("com/a/Dropped.java")));
+
+        current.save();
+        assertEquals(List.of("com/a/Kept.java"), Files.readAllLines(path));
+    }
+
+    @Test
+    void startsEmptyWithoutManifest() throws IOException {
+        OutputManifest manifest = OutputManifest.load(dir.resolve("missing/manifest.txt"));
+        assertEquals(List.of(), manifest.deleteStale(dir, List.of()));
+    }
+}
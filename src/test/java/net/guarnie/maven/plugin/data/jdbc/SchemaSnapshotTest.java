@@ -0,0 +1,82 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsTablesAndDialect() throws IOException {
+        TableInfo orders = new TableInfo("sales", "orders",
+                List.of(new ColumnInfo("id", Types.BIGINT, "int8", 19, 0, false, List.of(), true, "\"sales\".\"orders_id_seq\"", true),
+                        new ColumnInfo("status", Types.VARCHAR, "order_status", 0, 0, true, List.of("NEW", "SHIPPED"), false, null, false),
+                        new ColumnInfo("customer_id", Types.BIGINT, "int8", 19, 0, false)),
+                Set.of("id"),
+                List.of(new IndexInfo("orders_customer_idx", false, List.of("customer_id"))),
+                List.of(new ForeignKeyInfo("orders_customer_fk", List.of("customer_id"), "sales", "customers", List.of("id"))));
+        TableInfo empty = new TableInfo(null, "audit", List.of(), Set.of());
+
+        Path path = dir.resolve("schema.snapshot");
+        try (SchemaSnapshot.Writer writer = SchemaSnapshot.Writer.create(path, SqlDialect.POSTGRESQL)) {
+            writer.write(orders);
+            writer.write(empty);
+            writer.finish();
+        }
+
+        try (SchemaSnapshot.Reader reader = SchemaSnapshot.Reader.open(path)) {
+            assertEquals(SqlDialect.POSTGRESQL, reader.dialect());
+            List<TableInfo> tables = new ArrayList<>();
+            reader.forEachRemaining(tables::add);
+            assertEquals(List.of(orders, empty), tables);
+        }
+    }
+
+    @Test
+    void rejectsOtherVersions() throws IOException {
+        Path path = dir.resolve("old.snapshot");
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(0x444A5353);
+            out.writeInt(2);
+        }
+        IOException e = assertThrows(IOException.class, () -> SchemaSnapshot.Reader.open(path).close());
+        assertTrue(e.getMessage().contains("version 2"), e.getMessage());
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path path = dir.resolve("other.snapshot");
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(42);
+        }
+        assertThrows(IOException.class, () -> SchemaSnapshot.Reader.open(path).close());
+    }
+
+    @Test
+    void reportsTruncatedSnapshots() throws IOException {
+        Path path = dir.resolve("truncated.snapshot");
+        try (SchemaSnapshot.Writer writer = SchemaSnapshot.Writer.create(path, SqlDialect.H2)) {
+            writer.write(new TableInfo("public", "orders", List.of(new ColumnInfo("id", Types.BIGINT, "BIGINT", 64, 0, false)), Set.of("id")));
+        }
+
+        try (SchemaSnapshot.Reader reader = SchemaSnapshot.Reader.open(path)) {
+            assertEquals("orders", reader.next().name());
+            assertThrows(UncheckedIOException.class, reader::hasNext);
+        }
+    }
+}
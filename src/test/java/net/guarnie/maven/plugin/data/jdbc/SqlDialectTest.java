@@ -0,0 +1,66 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlDialectTest {
+
+    @Test
+    void detectsTheDialectOfJdbcUrls() {
+        assertEquals(SqlDialect.POSTGRESQL, SqlDialect.fromJdbcUrl("jdbc:postgresql://localhost/db"));
+        assertEquals(SqlDialect.MYSQL, SqlDialect.fromJdbcUrl("jdbc:mariadb://localhost/db"));
+        assertEquals(SqlDialect.H2, SqlDialect.fromJdbcUrl("jdbc:h2:mem:db"));
+        assertEquals(SqlDialect.ORACLE, SqlDialect.fromJdbcUrl("jdbc:oracle:thin:@localhost:1521/db"));
+        assertEquals(SqlDialect.SQLSERVER, SqlDialect.fromJdbcUrl("jdbc:sqlserver://localhost;databaseName=db"));
+        assertEquals(SqlDialect.STANDARD, SqlDialect.fromJdbcUrl("jdbc:db2://localhost/db"));
+        assertEquals(SqlDialect.STANDARD, SqlDialect.fromJdbcUrl(null));
+    }
+
+    @Test
+    void resolvesAutoToTheDetectedDialect() {
+        assertEquals(SqlDialect.ORACLE, SqlDialect.resolve("auto", SqlDialect.ORACLE));
+        assertEquals(SqlDialect.ORACLE, SqlDialect.resolve(null, SqlDialect.ORACLE));
+        assertEquals(SqlDialect.MYSQL, SqlDialect.resolve("MySql", SqlDialect.ORACLE));
+        assertThrows(IllegalArgumentException.class, () -> SqlDialect.resolve("sybase", SqlDialect.ORACLE));
+    }
+
+    @Test
+    void alwaysQuotesIdentifiers() {
+        assertEquals("\"order\"", SqlDialect.POSTGRESQL.identifier("order"));
+        assertEquals("\"Mixed\"\"Case\"", SqlDialect.H2.identifier("Mixed\"Case"));
+        assertEquals("`a``b`", SqlDialect.MYSQL.identifier("a`b"));
+        assertEquals("[a]]b]", SqlDialect.SQLSERVER.identifier("a]b"));
+    }
+
+    @Test
+    void generatesUpsertStatements() {
+        List<String> columns = List.of("\"id\"", "\"name\"");
+        List<String> keys = List.of("\"id\"");
+
+        assertEquals("INSERT INTO \"t\" (\"id\", \"name\") VALUES (?, ?) ON CONFLICT (\"id\") DO UPDATE SET \"name\" = EXCLUDED.\"name\"",
+                SqlDialect.POSTGRESQL.upsert("\"t\"", columns, keys));
+        assertEquals("MERGE INTO \"t\" (\"id\", \"name\") KEY (\"id\") VALUES (?, ?)", SqlDialect.H2.upsert("\"t\"", columns, keys));
+        assertEquals("MERGE INTO \"t\" t USING (SELECT ? AS \"id\", ? AS \"name\" FROM DUAL) s ON (t.\"id\" = s.\"id\")"
+                        + " WHEN MATCHED THEN UPDATE SET \"name\" = s.\"name\""
+                        + " WHEN NOT MATCHED THEN INSERT (\"id\", \"name\") VALUES (s.\"id\", s.\"name\")",
+                SqlDialect.ORACLE.upsert("\"t\"", columns, keys));
+        assertTrue(SqlDialect.SQLSERVER.upsert("[t]", List.of("[id]"), List.of("[id]")).endsWith(";"));
+        assertEquals("INSERT INTO `t` (`id`) VALUES (?) ON DUPLICATE KEY UPDATE `id` = `id`", SqlDialect.MYSQL.upsert("`t`", List.of("`id`"), List.of("`id`")));
+        assertNull(SqlDialect.STANDARD.upsert("\"t\"", columns, List.of()));
+        assertEquals("INSERT INTO \"t\" DEFAULT VALUES", SqlDialect.H2.insert("\"t\"", List.of()));
+        assertEquals("INSERT INTO `t` () VALUES ()", SqlDialect.MYSQL.insert("`t`", List.of()));
+    }
+
+    @Test
+    void readsSequenceValues() {
+        assertEquals("SELECT nextval('\"s''q\"')", SqlDialect.POSTGRESQL.nextValue("\"s'q\""));
+        assertEquals("SELECT \"s\".NEXTVAL FROM DUAL CONNECT BY LEVEL <= ?", SqlDialect.ORACLE.nextValues("\"s\""));
+        assertNull(SqlDialect.MYSQL.nextValue("s"));
+        assertNull(SqlDialect.STANDARD.nextValues("s"));
+        assertEquals("SELECT NEXT VALUE FOR [s]", SqlDialect.SQLSERVER.nextValue("[s]"));
+        assertNull(SqlDialect.SQLSERVER.nextValues("[s]"));
+    }
+}
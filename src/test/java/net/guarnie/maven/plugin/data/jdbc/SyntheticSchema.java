@@ -0,0 +1,188 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Synthetic schema of an H2 database: tables with a growing number of columns, cycling through the column types
+ * of every branch of the JDBC to Java type mapping, every fifth table having a composite primary key.
+ */
+final class SyntheticSchema {
+    /**
+     * Column types with the Java type of the record component.
+     * @param sql H2 column type
+     * @param javaType Simple name of the Java type
+     */
+    record ColumnType(String sql, String javaType) {
+    }
+
+    /**
+     * Column types, covering all the JDBC type codes reported by H2.
+     */
+    static final List<ColumnType> TYPES = List.of(
+            new ColumnType("INTEGER", "Integer"),
+            new ColumnType("SMALLINT", "Integer"),
+            new ColumnType("TINYINT", "Integer"),
+            new ColumnType("BIGINT", "Long"),
+            new ColumnType("NUMERIC(8, 0)", "Integer"),
+            new ColumnType("NUMERIC(15, 0)", "Long"),
+            new ColumnType("DECIMAL(12, 2)", "BigDecimal"),
+            new ColumnType("REAL", "Double"),
+            new ColumnType("DOUBLE PRECISION", "Double"),
+            new ColumnType("FLOAT", "Double"),
+            new ColumnType("VARCHAR(40)", "String"),
+            new ColumnType("CHAR(3)", "String"),
+            new ColumnType("CLOB", "String"),
+            new ColumnType("BOOLEAN", "Boolean"),
+            new ColumnType("TIMESTAMP WITH TIME ZONE", "Instant"),
+            new ColumnType("TIMESTAMP", "LocalDateTime"),
+            new ColumnType("DATE", "LocalDate"),
+            new ColumnType("TIME", "LocalTime"),
+            new ColumnType("VARBINARY(16)", "byte[]"),
+            new ColumnType("BINARY(4)", "byte[]"),
+            new ColumnType("BLOB", "byte[]"),
+            new ColumnType("UUID", "byte[]"),
+            new ColumnType("JSON", "JsonNode"),
+            new ColumnType("INTERVAL DAY", "String"),
+            new ColumnType("INTEGER ARRAY", "Object"));
+
+    /**
+     * Number of tables.
+     */
+    private final int tables;
+
+    /**
+     * Maximum number of columns of a table, besides the primary key.
+     */
+    private final int columns;
+
+    /**
+     * Creates a schema definition.
+     * @param tables Number of tables
+     * @param columns Maximum number of columns of a table, besides the primary key
+     */
+    SyntheticSchema(int tables, int columns) {
+        this.tables = tables;
+        this.columns = columns;
+    }
+
+    /**
+     * Returns the number of tables.
+     * @return Number of tables
+     */
+    int tables() {
+        return tables;
+    }
+
+    /**
+     * Returns the table name, as stored by H2.
+     * @param table Table index
+     * @return Table name
+     */
+    String tableName(int table) {
+        return "T_%05d".formatted(table);
+    }
+
+    /**
+     * Returns the name of the generated record.
+     * @param table Table index
+     * @return Record class name
+     */
+    String className(int table) {
+        return "T%05d".formatted(table);
+    }
+
+    /**
+     * Returns the number of columns of a table, besides the primary key.
+     * @param table Table index
+     * @return Number of columns, from 1 to the maximum
+     */
+    int columnCount(int table) {
+        return 1 + table % columns;
+    }
+
+    /**
+     * Returns the type of a column.
+     * @param table Table index
+     * @param column Column index
+     * @return Column type
+     */
+    ColumnType columnType(int table, int column) {
+        return TYPES.get((table + column) % TYPES.size());
+    }
+
+    /**
+     * Returns whether a table has a composite primary key.
+     * @param table Table index
+     * @return True for a two columns primary key
+     */
+    boolean compositeKey(int table) {
+        return table % 5 == 4;
+    }
+
+    /**
+     * Returns the total number of columns, primary keys included.
+     * @return Number of columns
+     */
+    long columnsTotal() {
+        long total = 0;
+        for (int t = 0; t < tables; t++) total += columnCount(t) + (compositeKey(t)? 2 : 1);
+        return total;
+    }
+
+    /**
+     * Creates the tables in a schema.
+     * @param conn Database connection
+     * @param schema Schema name, created if it doesn't exist
+     * @throws SQLException If the tables cannot be created.
+     */
+    void create(Connection conn, String schema) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+            for (int t = 0; t < tables; t++) {
+                StringBuilder ddl = new StringBuilder("CREATE TABLE ").append(schema).append('.').append(tableName(t)).append(" (ID BIGINT NOT NULL");
+                if (compositeKey(t)) ddl.append(", PART INTEGER NOT NULL");
+                for (int c = 0; c < columnCount(t); c++) ddl.append(", COL_").append(c).append(' ').append(columnType(t, c).sql());
+                ddl.append(compositeKey(t)? ", PRIMARY KEY (ID, PART))" : ", PRIMARY KEY (ID))");
+                stmt.addBatch(ddl.toString());
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Checks the records generated for all the tables: one component per column, with the expected Java type.
+     * @param outputPath Output directory of the generator
+     * @param packageName Package of the records
+     * @throws IOException If a record cannot be read.
+     */
+    void assertRecords(Path outputPath, String packageName) throws IOException {
+        Path dir = outputPath.resolve(packageName.replace('.', '/'));
+        for (int t = 0; t < tables; t++) {
+            Path file = dir.resolve(className(t) + ".java");
+            assertTrue(Files.exists(file), "Missing record: " + file);
+
+            Set<String> components = new HashSet<>();
+            for (String line : Files.readAllLines(file)) components.add(line.strip().replaceAll("(,|\\) \\{})$", ""));
+            List<String> expected = new ArrayList<>();
+            if (compositeKey(t)) {
+                expected.add("@Id " + className(t) + "Id id");
+                expected.add("Long id");
+                expected.add("Integer part");
+            }
+            else expected.add("@Id Long id");
+            for (int c = 0; c < columnCount(t); c++) expected.add(columnType(t, c).javaType() + " col" + c);
+            for (String component : expected) assertTrue(components.contains(component), "Missing component " + component + " in " + file);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package net.guarnie.maven.plugin.data.jdbc;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.io.ClassPathTemplateLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering of the built-in {@code table-record} template, with the context of a table of the given number of columns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateBenchmark {
+    private static final List<String> TYPES = List.of("Long", "String", "Integer", "BigDecimal", "Instant", "Boolean", "LocalDate", "byte[]");
+
+    @Param({"10", "50", "100", "500"})
+    int columns;
+
+    private Template template;
+    private Map<String, Object> context;
+
+    @Setup
+    public void setUp() throws IOException {
+        template = new Handlebars(new ClassPathTemplateLoader("/templates", ".hbs")).compile("table-record");
+
+        List<Map<String, Object>> cols = new ArrayList<>(columns);
+        for (int i = 1; i < columns; i++) {
+            cols.add(Map.of("javaName", "column" + i, "dbName", "column_" + i, "type", TYPES.get(i % TYPES.size()),
+                    "hasCustomMapping", i % 10 == 0, "nullable", true, "index", i + 1));
+        }
+        Set<String> imports = new TreeSet<>(List.of("java.math.BigDecimal", "java.time.Instant", "java.time.LocalDate"));
+
+        context = new HashMap<>();
+        context.put("packageName", "com.example.records");
+        context.put("className", "OrderLine");
+        context.put("dbTableName", "order_line");
+        context.put("hasCustomTableMapping", true);
+        context.put("pkColumns", List.of(Map.of("javaName", "id", "dbName", "id", "type", "Long", "hasCustomMapping", false)));
+        context.put("columns", cols);
+        context.put("hasCompositePk", false);
+        context.put("imports", imports);
+    }
+
+    @Benchmark
+    public String apply() throws IOException {
+        StringWriter writer = new StringWriter(1024 + 128 * columns);
+        template.apply(context, writer);
+        return writer.toString();
+    }
+}